@@ -0,0 +1,858 @@
+package app;
+
+import app.audio.Collections.*;
+import app.audio.Files.*;
+import app.audio.LibraryEntry;
+import app.searchBar.Filters;
+import app.searchBar.NameIndex;
+import app.searchBar.QueryPlan;
+import app.searchBar.SongIndex;
+import app.user.Artist;
+import app.user.Host;
+import app.user.User;
+import app.user.userFiles.Announcement;
+import app.user.userFiles.Event;
+import app.user.userFiles.Merch;
+import fileio.input.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The state of one run of the platform: the library, the users and everything they added.
+ * Every command file gets its own context, so independent files can run side by side.
+ */
+public final class AdminContext {
+    private List<User> users = new ArrayList<>();
+    private Map<String, User> usersByName = new HashMap<>();
+    private List<Song> songs = new ArrayList<>();
+    private List<Podcast> podcasts = new ArrayList<>();
+    private List<Artist> artists = new ArrayList<>();
+    private List<Host> hosts = new ArrayList<>();
+    private ArrayList<Album> albums = new ArrayList<>();
+    private ArrayList<Event> events = new ArrayList<>();
+    private ArrayList<Merch> merch = new ArrayList<>();
+    private ArrayList<Announcement> announcements = new ArrayList<>();
+    private final SongIndex songIndex = new SongIndex();
+    private final NameIndex<Podcast> podcastNames = new NameIndex<>();
+    private final NameIndex<Artist> artistNames = new NameIndex<>();
+    private final NameIndex<Host> hostNames = new NameIndex<>();
+    private final NameIndex<Album> albumNames = new NameIndex<>();
+    private final OwnerIndex<Album> albumsByOwner = new OwnerIndex<>();
+    private final OwnerIndex<Podcast> podcastsByOwner = new OwnerIndex<>();
+    private final OwnerIndex<Song> songsByArtist = new OwnerIndex<>();
+    private ReferenceIndex references = new ReferenceIndex();
+
+    private Leaderboards leaderboards = new Leaderboards();
+    private PlaybackScheduler scheduler = new PlaybackScheduler();
+    private int timestamp = 0;
+    private long catalogueVersion = 0;
+    private List<Playlist> playlists = List.of();
+    private long playlistsVersion = -1;
+    private static final int LIMIT = 5;
+
+    /**
+     * Instantiates an empty context.
+     */
+    public AdminContext() {
+    }
+
+    /**
+     * Sets users.
+     *
+     * @param userInputList the user input list
+     */
+    public void setUsers(final List<UserInput> userInputList) {
+        catalogueChanged();
+        users = new ArrayList<>();
+        usersByName = new HashMap<>();
+        leaderboards.usersCleared();
+        references = new ReferenceIndex();
+        for (UserInput userInput : userInputList) {
+            addUser(new User(this, userInput.getUsername(), userInput.getAge(),
+                             userInput.getCity()));
+        }
+    }
+
+    /**
+     * Sets songs.
+     *
+     * @param songInputList the song input list
+     */
+    public void setSongs(final List<SongInput> songInputList) {
+        catalogueChanged();
+        songs = new ArrayList<>();
+        for (SongInput songInput : songInputList) {
+            songs.add(new Song(songInput.getName(), songInput.getDuration(), songInput.getAlbum(),
+                    songInput.getTags(), songInput.getLyrics(), songInput.getGenre(),
+                    songInput.getReleaseYear(), songInput.getArtist()));
+        }
+        songIndex.clear();
+        songs.forEach(songIndex::add);
+        leaderboards.songsCleared();
+        songs.forEach(leaderboards::songAdded);
+        songsByArtist.clear();
+        songs.forEach(song -> songsByArtist.add(song.getArtist(), song));
+    }
+
+
+    /**
+     * Sets podcasts.
+     *
+     * @param podcastInputList the podcast input list
+     */
+    public void setPodcasts(final List<PodcastInput> podcastInputList) {
+        catalogueChanged();
+        podcasts = new ArrayList<>();
+        for (PodcastInput podcastInput : podcastInputList) {
+            List<Episode> episodes = new ArrayList<>();
+            for (EpisodeInput episodeInput : podcastInput.getEpisodes()) {
+                episodes.add(new Episode(episodeInput.getName(),
+                                         episodeInput.getDuration(),
+                                         episodeInput.getDescription()));
+            }
+            podcasts.add(new Podcast(podcastInput.getName(), podcastInput.getOwner(), episodes));
+        }
+        podcastNames.clear();
+        podcasts.forEach(podcastNames::add);
+        podcastsByOwner.clear();
+        podcasts.forEach(podcast -> podcastsByOwner.add(podcast.getOwner(), podcast));
+    }
+
+    /**
+     * Sets songs, podcasts and users from a library snapshot, without copying the parts of
+     * the snapshot that never change during a run.
+     *
+     * @param library the library
+     */
+    public void setLibrary(final LibrarySnapshot library) {
+        catalogueChanged();
+        setUsers(library.getUsers());
+        setSongs(library.getSongs());
+
+        podcasts = new ArrayList<>();
+        for (int i = 0; i < library.getPodcasts().size(); i++) {
+            PodcastInput podcastInput = library.getPodcasts().get(i);
+            podcasts.add(new Podcast(podcastInput.getName(), podcastInput.getOwner(),
+                                     library.getEpisodes().get(i)));
+        }
+        podcastNames.clear();
+        podcasts.forEach(podcastNames::add);
+        podcastsByOwner.clear();
+        podcasts.forEach(podcast -> podcastsByOwner.add(podcast.getOwner(), podcast));
+    }
+
+    /**
+     * Gets songs. Like the other catalogue getters, this returns a read-only view rather than
+     * a copy, so callers that remove entries while iterating have to copy it first.
+     *
+     * @return the songs
+     */
+    public List<Song> getSongs() {
+        return Collections.unmodifiableList(songs);
+    }
+
+    /**
+     * Gets podcasts.
+     *
+     * @return the podcasts
+     */
+    public List<Podcast> getPodcasts() {
+        return Collections.unmodifiableList(podcasts);
+    }
+
+    public List<Artist> getArtists() {
+        return Collections.unmodifiableList(artists);
+    }
+
+    public List<Host> getHosts() {
+        return Collections.unmodifiableList(hosts);
+    }
+
+    public List<Album> getAlbums() {
+        return Collections.unmodifiableList(albums);
+    }
+
+    public List<Event> getEvents() {
+        return Collections.unmodifiableList(events);
+    }
+
+    public List<Merch> getMerch() {
+        return Collections.unmodifiableList(merch);
+    }
+
+    public List<Announcement> getAnnouncements() {
+        return Collections.unmodifiableList(announcements);
+    }
+
+    /**
+     * Plans a song search over the song indexes.
+     *
+     * @param filters the filters
+     * @return the plan
+     */
+    public QueryPlan planSongSearch(final Filters filters) {
+        return songIndex.plan(filters, songs);
+    }
+
+    /**
+     * Gets the podcasts whose name starts with a prefix, ignoring case, in library order.
+     *
+     * @param prefix the prefix
+     * @return the podcasts
+     */
+    public Iterable<LibraryEntry> getPodcastsByName(final String prefix) {
+        return podcastNames.find(prefix);
+    }
+
+    /**
+     * Gets the artists whose name starts with a prefix, ignoring case, in library order.
+     *
+     * @param prefix the prefix
+     * @return the artists
+     */
+    public Iterable<LibraryEntry> getArtistsByName(final String prefix) {
+        return artistNames.find(prefix);
+    }
+
+    /**
+     * Gets the hosts whose name starts with a prefix, ignoring case, in library order.
+     *
+     * @param prefix the prefix
+     * @return the hosts
+     */
+    public Iterable<LibraryEntry> getHostsByName(final String prefix) {
+        return hostNames.find(prefix);
+    }
+
+    /**
+     * Gets the albums whose name starts with a prefix, ignoring case, in library order.
+     *
+     * @param prefix the prefix
+     * @return the albums
+     */
+    public Iterable<LibraryEntry> getAlbumsByName(final String prefix) {
+        return albumNames.find(prefix);
+    }
+    /**
+     * Gets the albums of an artist, in the order they were added.
+     *
+     * @param owner the username of the artist
+     * @return a read-only view of the albums
+     */
+    public List<Album> getAlbumsOf(final String owner) {
+        return albumsByOwner.get(owner);
+    }
+
+    /**
+     * Gets the podcasts of a host, in the order they were added.
+     *
+     * @param owner the username of the host
+     * @return a read-only view of the podcasts
+     */
+    public List<Podcast> getPodcastsOf(final String owner) {
+        return podcastsByOwner.get(owner);
+    }
+
+    /**
+     * Gets the songs of an artist, in library order.
+     *
+     * @param artist the name of the artist
+     * @return a read-only view of the songs
+     */
+    public List<Song> getSongsOf(final String artist) {
+        return songsByArtist.get(artist);
+    }
+
+    /**
+     * Gets the references users hold to the content of the platform.
+     *
+     * @return the references
+     */
+    public ReferenceIndex getReferences() {
+        return references;
+    }
+
+    /**
+     * Checks if anyone still interacts with a user's content: a visited podcast of theirs, a
+     * playlist with one of their songs, their page, or a player on one of their tracks.
+     *
+     * @param owner the user
+     * @return the boolean
+     */
+    public boolean isReferenced(final User owner) {
+        String name = owner.getUsername();
+        for (Podcast podcast : podcastsByOwner.get(name)) {
+            if (references.isVisited(podcast.getName())) {
+                return true;
+            }
+        }
+        if (references.hasPlaylistSongsBy(name) || references.isSelected(name)) {
+            return true;
+        }
+
+        for (Podcast podcast : podcastsByOwner.get(name)) {
+            if (isPlayingAny("podcast", podcast.getEpisodes())) {
+                return true;
+            }
+        }
+        for (Playlist playlist : owner.getPlaylists()) {
+            if (isPlayingAny("playlist", playlist.getSongs())) {
+                return true;
+            }
+        }
+        for (Album album : albumsByOwner.get(name)) {
+            if (isPlayingAny("album", album.getSongs())) {
+                return true;
+            }
+        }
+        return isPlayingAny("song", songsByArtist.get(name));
+    }
+
+    /**
+     * Checks if an album with the given name can't be removed yet: a player is on a song or an
+     * album track named like one of its songs, or a user plays a song of their own playlists.
+     *
+     * @param name the name of the album
+     * @return the boolean
+     */
+    public boolean isAlbumInUse(final String name) {
+        for (User user : references.getPlayers("playlist")) {
+            if (user.isPlayingOwnPlaylistSong()) {
+                return true;
+            }
+        }
+        for (LibraryEntry entry : albumNames.find(name)) {
+            if (entry.getName().equals(name)) {
+                List<Song> albumSongs = ((Album) entry).getSongs();
+                if (isPlayingAny("song", albumSongs) || isPlayingAny("album", albumSongs)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a podcast with the given name can't be removed yet: someone visited a podcast
+     * with that name, or a player is on an episode of a podcast owned by a user of that name.
+     *
+     * @param name the name of the podcast
+     * @return the boolean
+     */
+    public boolean isPodcastInUse(final String name) {
+        if (references.isVisited(name)) {
+            for (LibraryEntry entry : podcastNames.find(name)) {
+                if (entry.getName().equals(name)) {
+                    return true;
+                }
+            }
+        }
+        for (Podcast podcast : podcastsByOwner.get(name)) {
+            if (isPlayingAny("podcast", podcast.getEpisodes())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isPlayingAny(final String sourceType,
+                                 final List<? extends LibraryEntry> tracks) {
+        for (LibraryEntry track : tracks) {
+            if (references.isPlaying(sourceType, track.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets playlists, rebuilt only after the catalogue changed.
+     *
+     * @return the playlists
+     */
+    public List<Playlist> getPlaylists() {
+        if (playlistsVersion != catalogueVersion) {
+            List<Playlist> allPlaylists = new ArrayList<>();
+            for (User user : users) {
+                allPlaylists.addAll(user.getPlaylists());
+            }
+            playlists = Collections.unmodifiableList(allPlaylists);
+            playlistsVersion = catalogueVersion;
+        }
+        return playlists;
+    }
+
+    /**
+     * Gets the catalogue version, which changes every time something a search can find is
+     * added, removed or changed.
+     *
+     * @return the catalogue version
+     */
+    public long getCatalogueVersion() {
+        return catalogueVersion;
+    }
+
+    /**
+     * Marks the catalogue as changed, so cached search results are dropped.
+     */
+    public void catalogueChanged() {
+        catalogueVersion++;
+    }
+
+    /**
+     * Updates the leaderboards after a song was liked or unliked.
+     *
+     * @param song  the song
+     * @param delta the change in likes
+     */
+    public void likesChanged(final Song song, final int delta) {
+        leaderboards.likesChanged(song, delta);
+    }
+
+    /**
+     * Updates the leaderboards and the search cache after a playlist was followed or
+     * unfollowed.
+     *
+     * @param playlist the playlist
+     */
+    public void followersChanged(final Playlist playlist) {
+        catalogueChanged();
+        leaderboards.followersChanged(playlist);
+    }
+
+    /**
+     * Updates the leaderboards and the search cache after a user created a playlist.
+     *
+     * @param owner    the owner
+     * @param playlist the playlist
+     */
+    public void playlistAdded(final User owner, final Playlist playlist) {
+        catalogueChanged();
+        leaderboards.playlistAdded(owner, playlist);
+    }
+
+    /**
+     * Gets user, with its player brought up to the current timestamp.
+     *
+     * @param username the username
+     * @return the user
+     */
+    public User getUser(final String username) {
+        User user = usersByName.get(username);
+        if (user != null) {
+            user.syncTime(timestamp);
+            scheduler.touch(user);
+        }
+        return user;
+    }
+
+    /**
+     * Update timestamp.
+     *
+     * @param newTimestamp the new timestamp
+     */
+    public void updateTimestamp(final int newTimestamp) {
+        int elapsed = newTimestamp - timestamp;
+        timestamp = newTimestamp;
+        if (elapsed == 0) {
+            return;
+        }
+
+        scheduler.advance(newTimestamp);
+    }
+
+    /**
+     * Gets top 5 songs.
+     *
+     * @return the top 5 songs
+     */
+    public List<String> getTop5Songs() {
+        return leaderboards.getTop5Songs();
+    }
+
+    /**
+     * Gets top 5 playlists.
+     *
+     * @return the top 5 playlists
+     */
+    public List<String> getTop5Playlists() {
+        return leaderboards.getTop5Playlists();
+    }
+
+    /**
+     * Gets top 5 albums
+     */
+    public List<String> getTop5Albums() {
+        return leaderboards.getTop5Albums();
+    }
+
+    /**
+     * Gets top 5 artists
+     */
+    public List<String> getTop5Artists() {
+        return leaderboards.getTop5Artists();
+    }
+
+    /**
+     * Gets online users
+     */
+    public List<String> getOnlineUsers() {
+        List<String> onlineusers = new ArrayList<>();
+        for (User user : users) {
+            if (user.isConnectionStatus()) {
+                onlineusers.add(user.getUsername());
+            }
+        }
+        return onlineusers;
+    }
+
+    /**
+     * Adds a user
+     */
+    public void addUser(final User user) {
+        catalogueChanged();
+        users.add(user);
+        usersByName.putIfAbsent(user.getUsername(), user);
+        leaderboards.userAdded(user);
+        references.userAdded(user);
+    }
+
+    /**
+     * Adds a song
+     */
+    public void addSong(final Song song) {
+        catalogueChanged();
+        songs.add(song);
+        songIndex.add(song);
+        leaderboards.songAdded(song);
+        songsByArtist.add(song.getArtist(), song);
+    }
+
+    /**
+     * Adds an artist
+     */
+    public void addArtist(final Artist artist) {
+        catalogueChanged();
+        artists.add(artist);
+        artistNames.add(artist);
+        leaderboards.artistAdded(artist);
+    }
+
+    /**
+     * Adds a host
+     */
+    public void addHost(final Host host) {
+        catalogueChanged();
+        hosts.add(host);
+        hostNames.add(host);
+    }
+
+    /**
+     * Adds an album
+     */
+    public void addAlbum(final Album album) {
+        catalogueChanged();
+        albums.add(album);
+        albumNames.add(album);
+        albumsByOwner.add(album.getOwner(), album);
+        leaderboards.albumAdded(album);
+    }
+
+    /**
+     * Adds an event
+     */
+    public void addEvent(final Event event) {
+        events.add(event);
+    }
+
+    /**
+     * Adds merch
+     */
+    public void addMerch(final Merch merch1) {
+        merch.add(merch1);
+    }
+
+    /**
+     * Adds a podcast
+     */
+    public void addPodcast(final Podcast podcast) {
+        catalogueChanged();
+        podcasts.add(podcast);
+        podcastNames.add(podcast);
+        podcastsByOwner.add(podcast.getOwner(), podcast);
+    }
+
+    /**
+     * Adds an announcement
+     */
+    public void addAnnouncement(final Announcement announcement) {
+        announcements.add(announcement);
+    }
+    /**
+     * Shows all albums
+     */
+    public ArrayList<AlbumOutput> showAlbums(final String username) {
+        ArrayList<AlbumOutput> albumOutputs = new ArrayList<>();
+        for (Album album : albumsByOwner.get(username)) {
+            albumOutputs.add(new AlbumOutput(album));
+        }
+        return albumOutputs;
+    }
+
+    /**
+     * Shows all podcasts
+     */
+    public ArrayList<PodcastOutput> showPodcasts(final String username) {
+        ArrayList<PodcastOutput> podcastOutputs = new ArrayList<>();
+        for (Podcast podcast : podcastsByOwner.get(username)) {
+            podcastOutputs.add(new PodcastOutput(podcast));
+        }
+        return podcastOutputs;
+    }
+
+    /**
+     * Prints the current page of a user
+     */
+    public String printCurrentPage(final User user) {
+        if (!user.isConnectionStatus()) {
+            return user.getUsername() + " is offline.";
+        }
+        if (user.getSelectedSearch().equals("home page")) {
+            List<Song> sortedSongs = new ArrayList<>(user.getLikedSongs());
+            sortedSongs.sort(Comparator.comparingInt(Song::getLikes).reversed());
+            List<String> topSongs = new ArrayList<>();
+            int count = 0;
+            for (Song song : sortedSongs) {
+                if (count >= LIMIT) {
+                    break;
+                }
+                topSongs.add(song.getName());
+                count++;
+            }
+            ArrayList<String> top5Playlists = new ArrayList<>();
+            ArrayList<Playlist> allPlaylists = new ArrayList<>(user.getFollowedPlaylists());
+            for (int i = 1; i <= 5; i++) {
+                int sumaMax = -1;
+                Playlist nextAdd = null;
+                for (Playlist playlist : allPlaylists) {
+                    int suma = 0;
+                    for (Song song : playlist.getSongs()) {
+                        suma += song.getLikes();
+                    }
+                    if (suma > sumaMax) {
+                        sumaMax = suma;
+                        nextAdd = playlist;
+                    }
+                }
+                if (nextAdd != null) {
+                    top5Playlists.add(nextAdd.getName());
+                    allPlaylists.remove(nextAdd);
+                }
+            }
+            return "Liked songs:\n\t" + topSongs + "\n\nFollowed playlists:\n\t" + top5Playlists;
+        }
+        boolean modif = false;
+        if (user.getSelectedSearch().equals("liked content page")) {
+            StringBuilder newstring = new StringBuilder();
+            newstring.append("Liked songs:\n\t[");
+            for (Song song : user.getLikedSongs()) {
+                newstring.append(song.getName() + " - " + song.getArtist() + ", ");
+                modif = true;
+            }
+            String modifiedString;
+            if (modif) {
+                modifiedString = newstring.substring(0, newstring.length() - 2);
+                newstring = new StringBuilder(modifiedString);
+                modif = false;
+            }
+            newstring.append("]\n\nFollowed playlists:\n\t[");
+            for (Playlist playlist : user.getFollowedPlaylists()) {
+                newstring.append(playlist.getName() + " - " + playlist.getOwner() + ", ");
+                modif = true;
+            }
+            if (modif) {
+                modifiedString = newstring.substring(0, newstring.length() - 2);
+                newstring = new StringBuilder(modifiedString);
+            }
+            newstring.append("]");
+            return newstring.toString();
+        }
+        String type = new String();
+        User user2 = null;
+        for (User user1 : users) {
+            user2 = user1;
+            if (user1.getType().equals("artist")
+                    && user1.getUsername().equals(user.getSelectedSearch())) {
+                type = "artist";
+                break;
+            }
+            if (user1.getType().equals("host")
+                    && user1.getUsername().equals(user.getSelectedSearch())) {
+                type = "host";
+                break;
+            }
+        }
+        if (type.equals("artist")) {
+            StringBuilder newstring = new StringBuilder();
+            ArrayList<String> albumss = new ArrayList<>();
+            for (Album album : albumsByOwner.get(user2.getUsername())) {
+                albumss.add(album.getName());
+            }
+            newstring.append("Albums:\n\t" + albumss + "\n\nMerch:\n\t[");
+            for (Merch merch : merch) {
+                newstring.append(merch.getName()
+                        + " - " + merch.getPrice() + ":\n\t" + merch.getDescription() + ", ");
+                modif = true;
+            }
+            String modifiedString;
+            if (modif) {
+                modifiedString = newstring.substring(0, newstring.length() - 2);
+                newstring = new StringBuilder(modifiedString);
+                modif = false;
+            }
+            newstring.append("]\n\nEvents:\n\t[");
+            for (Event event : events) {
+                newstring.append(event.getName()
+                        + " - " + event.getDate() + ":\n\t" + event.getDescription() + ", ");
+                modif = true;
+            }
+            if (modif) {
+                modifiedString = newstring.substring(0, newstring.length() - 2);
+                newstring = new StringBuilder(modifiedString);
+            }
+            newstring.append("]");
+            return newstring.toString();
+        }
+        if (type.equals("host")) {
+            StringBuilder newstring = new StringBuilder();
+            newstring.append("Podcasts:\n\t[");
+            boolean modif1 = false;
+            String modifiedString;
+            for (Podcast podcast : podcastsByOwner.get(user2.getUsername())) {
+                newstring.append(podcast.getName() + ":\n\t[");
+                for (Episode episode : podcast.getEpisodes()) {
+                    newstring.append(episode.getName()
+                            + " - " + episode.getDescription() + ", ");
+                    modif = true;
+                }
+                if (modif) {
+                    modifiedString = newstring.substring(0, newstring.length() - 2);
+                    newstring = new StringBuilder(modifiedString);
+                    modif = false;
+                }
+                newstring.append("]\n, ");
+            }
+            if (modif1) {
+                modifiedString = newstring.substring(0, newstring.length() - 2);
+                newstring = new StringBuilder(modifiedString);
+            }
+            modifiedString = newstring.substring(0, newstring.length() - 2);
+            newstring = new StringBuilder(modifiedString);
+            newstring.append("]\n\nAnnouncements:\n\t[");
+            for (Announcement announcement : announcements) {
+                newstring.append(announcement.getName()
+                        + ":\n\t" + announcement.getDescription() + "\n");
+            }
+            newstring.append("]");
+            return newstring.toString();
+        }
+        return "a";
+    }
+
+    /**
+     * Gets all users
+     */
+    public List<User> getAllUsers() {
+        return Collections.unmodifiableList(users);
+    }
+
+    /**
+     * Removes a user
+     */
+    public void removeUser(final User user) {
+        catalogueChanged();
+        users.remove(user);
+        usersByName.remove(user.getUsername(), user);
+        scheduler.remove(user);
+        leaderboards.userRemoved(user);
+        references.userRemoved(user);
+    }
+
+    /**
+     * Removes a song
+     */
+    public void removeSong(final Song song) {
+        catalogueChanged();
+        if (songs.remove(song)) {
+            songIndex.remove(song);
+            leaderboards.songRemoved(song);
+            songsByArtist.remove(song.getArtist(), song);
+        }
+    }
+
+    /**
+     * Removes an announcement
+     */
+    public void removeAnnouncement(final Announcement announcement) {
+        announcements.remove(announcement); }
+
+    /**
+     * Removes an album
+     */
+    public void removeAlbum(final Album album) {
+        catalogueChanged();
+        albums.remove(album);
+        albumNames.remove(album);
+        albumsByOwner.remove(album.getOwner(), album);
+        leaderboards.albumRemoved(album);
+    }
+
+    /**
+     * Removes an event
+     */
+    public void removeEvent(final Event event) {
+        events.remove(event); }
+
+    /**
+     * Removes a podcast
+     */
+    public void removePodcast(final Podcast podcast) {
+        catalogueChanged();
+        podcasts.remove(podcast);
+        podcastNames.remove(podcast);
+        podcastsByOwner.remove(podcast.getOwner(), podcast);
+    }
+    /**
+     * Reset.
+     */
+    public void reset() {
+        catalogueChanged();
+        users = new ArrayList<>();
+        usersByName = new HashMap<>();
+        songs = new ArrayList<>();
+        podcasts = new ArrayList<>();
+        artists = new ArrayList<>();
+        albums = new ArrayList<>();
+        events = new ArrayList<>();
+        merch = new ArrayList<>();
+        hosts = new ArrayList<>();
+        announcements = new ArrayList<>();
+        songIndex.clear();
+        podcastNames.clear();
+        artistNames.clear();
+        hostNames.clear();
+        albumNames.clear();
+        albumsByOwner.clear();
+        podcastsByOwner.clear();
+        songsByArtist.clear();
+        references = new ReferenceIndex();
+        leaderboards = new Leaderboards();
+        scheduler = new PlaybackScheduler();
+        timestamp = 0;
+    }
+}
@@ -0,0 +1,199 @@
+package app;
+
+import fileio.input.CommandInput;
+import fileio.output.CommandOutput;
+import fileio.output.OutputSink;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+/**
+ * Runs the commands of one input file, a group of commands with the same timestamp at a
+ * time. Time is advanced once per group. Consecutive read-only commands of different users
+ * in a group run in parallel, and their results are written in the order of the input.
+ *
+ * <p>With -Dcommands.workers=N (N at least 2), users are instead split across N
+ * single-threaded workers by the hash of their username. The user and read-only commands of a
+ * group go to the worker of their user, so the commands of one user still run in order, while
+ * a global command waits for every command before it and runs alone. Results are written in
+ * the order of the input either way.
+ */
+public final class CommandExecutor implements AutoCloseable {
+    private static final int WORKERS = Integer.getInteger("commands.workers", 0);
+    private static final int MIN_PARALLEL = 2;
+    private static final int MAX_PENDING = 4096;
+
+    private final AdminContext admin;
+    private final CommandRunner runner;
+    private final CommandRegistry commands;
+    private final OutputSink outputs;
+    private final ExecutorService[] workers;
+    private final List<Future<CommandOutput>> pending = new ArrayList<>();
+
+    /**
+     * Instantiates a new Command executor.
+     *
+     * @param admin    the platform state of the file
+     * @param commands the commands
+     * @param outputs  where the results go
+     */
+    public CommandExecutor(final AdminContext admin, final CommandRegistry commands,
+                           final OutputSink outputs) {
+        this.admin = admin;
+        this.runner = new CommandRunner(admin);
+        this.commands = commands;
+        this.outputs = outputs;
+        this.workers = WORKERS < MIN_PARALLEL ? null : new ExecutorService[WORKERS];
+        if (workers != null) {
+            for (int i = 0; i < workers.length; i++) {
+                workers[i] = Executors.newSingleThreadExecutor(task -> {
+                    Thread thread = new Thread(task, "command-worker");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+        }
+    }
+
+    /**
+     * Runs a group of commands sharing the same timestamp.
+     *
+     * @param group the commands, in input order
+     * @throws IOException in case of exceptions to writing
+     */
+    public void execute(final List<CommandInput> group) throws IOException {
+        if (group.isEmpty()) {
+            return;
+        }
+
+        admin.updateTimestamp(group.get(0).getTimestamp());
+        if (workers != null) {
+            executePartitioned(group);
+            return;
+        }
+
+        int start = 0;
+        while (start < group.size()) {
+            int end = readOnlyEnd(group, start);
+            if (end - start >= MIN_PARALLEL) {
+                runParallel(group.subList(start, end));
+                start = end;
+            } else {
+                runOne(group.get(start));
+                start++;
+            }
+        }
+    }
+
+    /**
+     * Stops the workers.
+     */
+    @Override
+    public void close() {
+        if (workers != null) {
+            for (ExecutorService worker : workers) {
+                worker.shutdownNow();
+            }
+        }
+    }
+
+    private void executePartitioned(final List<CommandInput> group) throws IOException {
+        try {
+            for (CommandInput command : group) {
+                CommandRegistry.Command handler = commands.resolve(command.getCommand());
+                if (!handler.isUserLocal() || command.getUsername() == null) {
+                    drain();
+                    runOne(command);
+                    continue;
+                }
+
+                ExecutorService worker = workers[Math.floorMod(command.getUsername().hashCode(),
+                                                               workers.length)];
+                pending.add(worker.submit(() -> handler.run(runner, command)));
+                if (pending.size() >= MAX_PENDING) {
+                    drain();
+                }
+            }
+            // time only moves on once every player of the group is done
+            drain();
+        } finally {
+            for (Future<CommandOutput> result : pending) {
+                result.cancel(false);
+            }
+            pending.clear();
+        }
+    }
+
+    private void drain() throws IOException {
+        try {
+            for (Future<CommandOutput> result : pending) {
+                write(result.get());
+            }
+            pending.clear();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for command results");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private int readOnlyEnd(final List<CommandInput> group, final int start) {
+        Set<String> usernames = new HashSet<>();
+        int end = start;
+        while (end < group.size()) {
+            CommandInput command = group.get(end);
+            CommandRegistry.Command handler = commands.resolve(command.getCommand());
+            if (!handler.isReadOnly() || !usernames.add(command.getUsername())) {
+                break;
+            }
+            end++;
+        }
+        return end;
+    }
+
+    private void runOne(final CommandInput command) throws IOException {
+        write(commands.resolve(command.getCommand()).run(runner, command));
+    }
+
+    private void write(final CommandOutput result) throws IOException {
+        if (result != null) {
+            outputs.write(result);
+        }
+    }
+
+    private void runParallel(final List<CommandInput> batch) throws IOException {
+        CommandOutput[] results = new CommandOutput[batch.size()];
+        RuntimeException[] failures = new RuntimeException[batch.size()];
+        IntStream.range(0, batch.size()).parallel().forEach(i -> {
+            CommandInput command = batch.get(i);
+            try {
+                results[i] = commands.resolve(command.getCommand()).run(runner, command);
+            } catch (RuntimeException e) {
+                failures[i] = e;
+            }
+        });
+
+        for (int i = 0; i < batch.size(); i++) {
+            if (failures[i] != null) {
+                throw failures[i];
+            }
+            write(results[i]);
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package app;
+
+import app.utils.Enums.CommandScope;
+import fileio.input.CommandInput;
+import fileio.output.CommandOutput;
+import fileio.output.TreeOutput;
+
+import java.io.PrintStream;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The commands the platform understands, by name. Each command keeps a count of its runs and
+ * of the time spent in them, safe to update from runs going on in parallel. The scope of a
+ * command tells what it may change: global commands anything, user commands only the player of
+ * their own user, and read-only commands nothing else either, without reading another user's
+ * player. Names nobody registered resolve to one shared fallback, which reports them on stderr
+ * and is counted like any other command.
+ */
+public final class CommandRegistry {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private static final String UNKNOWN = "<unknown>";
+
+    private final Map<String, Command> commands = new LinkedHashMap<>();
+    private final Command unknown = new Command(UNKNOWN, CommandScope.GLOBAL, (runner, command) -> {
+        System.err.println("Invalid command " + command.getCommand());
+        return null;
+    });
+
+    /**
+     * Runs a command.
+     */
+    @FunctionalInterface
+    public interface Handler {
+        /**
+         * Runs the command.
+         *
+         * @param runner  the runner of the file the command is in
+         * @param command the command
+         * @return the result, or null if the command writes none
+         */
+        CommandOutput run(CommandRunner runner, CommandInput command);
+    }
+
+    /**
+     * A registered command, with its metrics.
+     */
+    public static final class Command {
+        private final String name;
+        private final Handler handler;
+        private final CommandScope scope;
+        private final LongAdder runs = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        private Command(final String name, final CommandScope scope, final Handler handler) {
+            this.name = name;
+            this.scope = scope;
+            this.handler = handler;
+        }
+
+        /**
+         * Runs the command and records how long it took.
+         *
+         * @param runner  the runner of the file the command is in
+         * @param command the command
+         * @return the result, or null if the command writes none
+         */
+        public CommandOutput run(final CommandRunner runner, final CommandInput command) {
+            long start = System.nanoTime();
+            try {
+                return handler.run(runner, command);
+            } finally {
+                nanos.add(System.nanoTime() - start);
+                runs.increment();
+            }
+        }
+
+        /**
+         * Gets name.
+         *
+         * @return the name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets scope.
+         *
+         * @return the scope
+         */
+        public CommandScope getScope() {
+            return scope;
+        }
+
+        /**
+         * Checks if the command is read-only.
+         *
+         * @return the boolean
+         */
+        public boolean isReadOnly() {
+            return scope == CommandScope.READ_ONLY;
+        }
+
+        /**
+         * Checks if the command only changes the player of its own user.
+         *
+         * @return the boolean
+         */
+        public boolean isUserLocal() {
+            return scope != CommandScope.GLOBAL;
+        }
+
+        /**
+         * Gets the number of runs.
+         *
+         * @return the number of runs
+         */
+        public long getRuns() {
+            return runs.sum();
+        }
+
+        /**
+         * Gets the total time spent running the command.
+         *
+         * @return the time, in nanoseconds
+         */
+        public long getNanos() {
+            return nanos.sum();
+        }
+    }
+
+    /**
+     * Registers a global command.
+     *
+     * @param name    the name of the command
+     * @param handler the handler
+     */
+    public void register(final String name, final Handler handler) {
+        register(name, CommandScope.GLOBAL, handler);
+    }
+
+    /**
+     * Registers a command.
+     *
+     * @param name    the name of the command
+     * @param scope   what the command may change
+     * @param handler the handler
+     */
+    public void register(final String name, final CommandScope scope, final Handler handler) {
+        if (commands.putIfAbsent(name, new Command(name, scope, handler)) != null) {
+            throw new IllegalArgumentException("Command " + name + " is already registered");
+        }
+    }
+
+    /**
+     * Gets the command with the given name.
+     *
+     * @param name the name
+     * @return the command, or null if there is none
+     */
+    public Command get(final String name) {
+        return commands.get(name);
+    }
+
+    /**
+     * Gets the command with the given name, or the fallback for unknown names.
+     *
+     * @param name the name
+     * @return the command
+     */
+    public Command resolve(final String name) {
+        return commands.getOrDefault(name, unknown);
+    }
+
+    /**
+     * Gets the commands, in the order they were registered.
+     *
+     * @return the commands
+     */
+    public Collection<Command> getCommands() {
+        return Collections.unmodifiableCollection(commands.values());
+    }
+
+    /**
+     * Prints the runs and the time of every command that ran.
+     *
+     * @param out where to print
+     */
+    public void printMetrics(final PrintStream out) {
+        for (Command command : commands.values()) {
+            printMetrics(out, command);
+        }
+        printMetrics(out, unknown);
+    }
+
+    private static void printMetrics(final PrintStream out, final Command command) {
+        if (command.getRuns() > 0) {
+            out.printf("%-24s %9d runs %12.3f ms%n", command.getName(), command.getRuns(),
+                       command.getNanos() / NANOS_PER_MILLI);
+        }
+    }
+
+    /**
+     * Creates a registry with all the commands of the platform.
+     *
+     * @return the registry
+     */
+    public static CommandRegistry standard() {
+        CommandRegistry registry = new CommandRegistry();
+        registry.register("search", (runner, command) -> new TreeOutput(runner.search(command)));
+        registry.register("select", (runner, command) -> runner.select(command));
+        registry.register("load", (runner, command) -> runner.load(command));
+        registry.register("playPause", CommandScope.USER,
+                (runner, command) -> runner.playPause(command));
+        registry.register("repeat", CommandScope.USER, (runner, command) -> runner.repeat(command));
+        registry.register("shuffle", CommandScope.USER,
+                (runner, command) -> runner.shuffle(command));
+        registry.register("forward", CommandScope.USER,
+                (runner, command) -> runner.forward(command));
+        registry.register("backward", CommandScope.USER,
+                (runner, command) -> runner.backward(command));
+        registry.register("like", (runner, command) -> runner.like(command));
+        registry.register("next", CommandScope.USER, (runner, command) -> runner.next(command));
+        registry.register("prev", CommandScope.USER, (runner, command) -> runner.prev(command));
+        registry.register("createPlaylist", (runner, command) -> runner.createPlaylist(command));
+        registry.register("addRemoveInPlaylist",
+                (runner, command) -> runner.addRemoveInPlaylist(command));
+        registry.register("switchVisibility",
+                (runner, command) -> runner.switchVisibility(command));
+        registry.register("showPlaylists", CommandScope.READ_ONLY,
+                (runner, command) -> new TreeOutput(runner.showPlaylists(command)));
+        registry.register("follow", (runner, command) -> runner.follow(command));
+        registry.register("status", CommandScope.READ_ONLY,
+                (runner, command) -> new TreeOutput(runner.status(command)));
+        registry.register("showPreferredSongs", CommandScope.READ_ONLY,
+                (runner, command) -> runner.showLikedSongs(command));
+        registry.register("getPreferredGenre", CommandScope.READ_ONLY,
+                (runner, command) -> new TreeOutput(runner.getPreferredGenre(command)));
+        registry.register("getTop5Songs", (runner, command) -> runner.getTop5Songs(command));
+        registry.register("getTop5Playlists",
+                (runner, command) -> runner.getTop5Playlists(command));
+        registry.register("switchConnectionStatus",
+                (runner, command) -> runner.switchConnectionStatus(command));
+        registry.register("getOnlineUsers", (runner, command) -> runner.getOnlineUsers(command));
+        registry.register("addUser", (runner, command) -> runner.addUser(command));
+        registry.register("addAlbum", (runner, command) -> runner.addAlbum(command));
+        registry.register("showAlbums",
+                (runner, command) -> new TreeOutput(runner.showAlbums(command)));
+        registry.register("printCurrentPage", CommandScope.READ_ONLY,
+                (runner, command) -> new TreeOutput(runner.printCurrentPage(command)));
+        registry.register("addEvent", (runner, command) -> runner.addEvent(command));
+        registry.register("addMerch", (runner, command) -> runner.addMerch(command));
+        registry.register("getAllUsers", (runner, command) -> runner.getAllUsers(command));
+        registry.register("deleteUser", (runner, command) -> runner.deleteUser(command));
+        registry.register("addPodcast", (runner, command) -> runner.addPodcast(command));
+        registry.register("addAnnouncement", (runner, command) -> runner.addAnnouncement(command));
+        registry.register("removeAnnouncement",
+                (runner, command) -> runner.removeAnnouncement(command));
+        registry.register("showPodcasts",
+                (runner, command) -> new TreeOutput(runner.showPodcasts(command)));
+        registry.register("removeAlbum", (runner, command) -> runner.removeAlbum(command));
+        registry.register("changePage", (runner, command) -> runner.changePage(command));
+        registry.register("removePodcast", (runner, command) -> runner.removePodcast(command));
+        registry.register("removeEvent", (runner, command) -> runner.removeEvent(command));
+        registry.register("getTop5Albums", (runner, command) -> runner.getTop5Albums(command));
+        registry.register("getTop5Artists", (runner, command) -> runner.getTop5Artists(command));
+        return registry;
+    }
+}
@@ -15,6 +15,8 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import fileio.input.CommandInput;
 import fileio.input.EpisodeInput;
 import fileio.input.SongInput;
+import fileio.output.MessageOutput;
+import fileio.output.NamesOutput;
 import javassist.compiler.ast.Visitor;
 
 import java.time.DateTimeException;
@@ -32,7 +34,15 @@ public final class CommandRunner {
      */
     private static ObjectMapper objectMapper = new ObjectMapper();
 
-    private CommandRunner() {
+    private final AdminContext admin;
+
+    /**
+     * Instantiates a new Command runner.
+     *
+     * @param admin the context the commands act on
+     */
+    public CommandRunner(final AdminContext admin) {
+        this.admin = admin;
     }
 
     /**
@@ -41,8 +51,8 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the object node
      */
-    public static ObjectNode search(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public ObjectNode search(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         Filters filters = new Filters(commandInput.getFilters());
         String type = commandInput.getType();
         ArrayList<String> results = user.search(filters, type);
@@ -63,147 +73,105 @@ public final class CommandRunner {
     }
 
     /**
-     * Select object node.
+     * Selects one of the last search results.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @return the result
      */
-    public static ObjectNode select(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public MessageOutput select(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         String message = user.select(commandInput.getItemNumber());
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        return new MessageOutput(commandInput, message);
     }
 
     /**
-     * Load object node.
+     * Loads the selected source into the player.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @return the result
      */
-    public static ObjectNode load(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public MessageOutput load(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         String message = user.load();
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        return new MessageOutput(commandInput, message);
     }
 
     /**
-     * Play pause object node.
+     * Pauses or resumes the player.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @return the result
      */
-    public static ObjectNode playPause(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public MessageOutput playPause(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         String message = user.playPause();
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        return new MessageOutput(commandInput, message);
     }
 
     /**
-     * Repeat object node.
+     * Changes the repeat mode of the player.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @return the result
      */
-    public static ObjectNode repeat(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public MessageOutput repeat(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         String message = user.repeat();
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        return new MessageOutput(commandInput, message);
     }
 
     /**
-     * Shuffle object node.
+     * Turns shuffling on or off.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @return the result
      */
-    public static ObjectNode shuffle(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public MessageOutput shuffle(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         Integer seed = commandInput.getSeed();
         String message = user.shuffle(seed);
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        return new MessageOutput(commandInput, message);
     }
 
     /**
-     * Forward object node.
+     * Skips forward in the current episode.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @return the result
      */
-    public static ObjectNode forward(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public MessageOutput forward(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         String message = user.forward();
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        return new MessageOutput(commandInput, message);
     }
 
     /**
-     * Backward object node.
+     * Goes back in the current episode.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @return the result
      */
-    public static ObjectNode backward(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public MessageOutput backward(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         String message = user.backward();
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        return new MessageOutput(commandInput, message);
     }
 
     /**
-     * Like object node.
+     * Likes or unlikes the current song.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @return the result
      */
-    public static ObjectNode like(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public MessageOutput like(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         String message;
         if (!user.isConnectionStatus()) {
             message = commandInput.getUsername() + " is offline.";
@@ -211,110 +179,74 @@ public final class CommandRunner {
             message = user.like();
         }
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        return new MessageOutput(commandInput, message);
     }
 
     /**
-     * Next object node.
+     * Skips to the next track.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @return the result
      */
-    public static ObjectNode next(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public MessageOutput next(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         String message = user.next();
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        return new MessageOutput(commandInput, message);
     }
 
     /**
-     * Prev object node.
+     * Goes back to the previous track.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @return the result
      */
-    public static ObjectNode prev(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public MessageOutput prev(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         String message = user.prev();
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        return new MessageOutput(commandInput, message);
     }
 
     /**
-     * Create playlist object node.
+     * Creates a playlist.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @return the result
      */
-    public static ObjectNode createPlaylist(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public MessageOutput createPlaylist(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
 
         String message = user.createPlaylist(commandInput.getPlaylistName(),
                                              commandInput.getTimestamp());
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        return new MessageOutput(commandInput, message);
     }
 
     /**
-     * Add remove in playlist object node.
+     * Adds the current song to a playlist, or removes it.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @return the result
      */
-    public static ObjectNode addRemoveInPlaylist(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public MessageOutput addRemoveInPlaylist(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         String message = user.addRemoveInPlaylist(commandInput.getPlaylistId());
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        return new MessageOutput(commandInput, message);
     }
 
     /**
-     * Switch visibility object node.
+     * Switches the visibility of a playlist.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @return the result
      */
-    public static ObjectNode switchVisibility(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public MessageOutput switchVisibility(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         String message = user.switchPlaylistVisibility(commandInput.getPlaylistId());
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        return new MessageOutput(commandInput, message);
     }
 
     /**
@@ -323,8 +255,8 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the object node
      */
-    public static ObjectNode showPlaylists(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public ObjectNode showPlaylists(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         ArrayList<PlaylistOutput> playlists = user.showPlaylists();
 
         ObjectNode objectNode = objectMapper.createObjectNode();
@@ -337,22 +269,16 @@ public final class CommandRunner {
     }
 
     /**
-     * Follow object node.
+     * Follows or unfollows the selected playlist.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @return the result
      */
-    public static ObjectNode follow(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public MessageOutput follow(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         String message = user.follow();
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        return new MessageOutput(commandInput, message);
     }
 
     /**
@@ -361,8 +287,8 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the object node
      */
-    public static ObjectNode status(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public ObjectNode status(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         PlayerStats stats = user.getPlayerStats();
 
         ObjectNode objectNode = objectMapper.createObjectNode();
@@ -375,22 +301,16 @@ public final class CommandRunner {
     }
 
     /**
-     * Show liked songs object node.
+     * Shows the liked songs.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @return the result
      */
-    public static ObjectNode showLikedSongs(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public NamesOutput showLikedSongs(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         ArrayList<String> songs = user.showPreferredSongs();
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("result", objectMapper.valueToTree(songs));
-
-        return objectNode;
+        return NamesOutput.ofUser(commandInput, songs);
     }
 
     /**
@@ -399,8 +319,8 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the preferred genre
      */
-    public static ObjectNode getPreferredGenre(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public ObjectNode getPreferredGenre(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         String preferredGenre = user.getPreferredGenre();
 
         ObjectNode objectNode = objectMapper.createObjectNode();
@@ -418,15 +338,10 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the top 5 songs
      */
-    public static ObjectNode getTop5Songs(final CommandInput commandInput) {
-        List<String> songs = Admin.getTop5Songs();
+    public NamesOutput getTop5Songs(final CommandInput commandInput) {
+        List<String> songs = admin.getTop5Songs();
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("result", objectMapper.valueToTree(songs));
-
-        return objectNode;
+        return NamesOutput.of(commandInput, songs);
     }
 
     /**
@@ -435,73 +350,57 @@ public final class CommandRunner {
      * @param commandInput the command input
      * @return the top 5 playlists
      */
-    public static ObjectNode getTop5Playlists(final CommandInput commandInput) {
-        List<String> playlists = Admin.getTop5Playlists();
-
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("result", objectMapper.valueToTree(playlists));
+    public NamesOutput getTop5Playlists(final CommandInput commandInput) {
+        List<String> playlists = admin.getTop5Playlists();
 
-        return objectNode;
+        return NamesOutput.of(commandInput, playlists);
     }
 
     /**
      * Switches the online status of a user.
      */
-    public static ObjectNode switchConnectionStatus(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public MessageOutput switchConnectionStatus(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         String message;
         if (user == null) {
             message = "The username " + commandInput.getUsername() + " doesn't exist.";
         } else {
             message = user.switchConnectionStatus();
         }
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        return new MessageOutput(commandInput, message);
     }
 
     /**
      * Gets the online users.
      */
-    public static ObjectNode getOnlineUsers(final CommandInput commandInput) {
-        List<String> onlineusers = Admin.getOnlineUsers();
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("result", objectMapper.valueToTree(onlineusers));
-
-        return objectNode;
+    public NamesOutput getOnlineUsers(final CommandInput commandInput) {
+        List<String> onlineusers = admin.getOnlineUsers();
+        return NamesOutput.of(commandInput, onlineusers);
     }
 
     /**
      * Adds a new user.
      */
-    public static ObjectNode addUser(final CommandInput commandInput) {
+    public MessageOutput addUser(final CommandInput commandInput) {
         String name = commandInput.getUsername();
         Integer age = commandInput.getAge();
         String city = commandInput.getCity();
         String message;
         String type = commandInput.getType();
-        User user = new User(name, age, city);
+        User user = new User(admin, name, age, city);
         user.setType(type);
-        if (Admin.getUser(name) == null) {
-            Admin.addUser(user);
+        if (admin.getUser(name) == null) {
+            admin.addUser(user);
             message = "The username " + name + " has been added successfully.";
             if (type.equals("artist")) {
                 String newage = age.toString();
                 Artist artist = new Artist(name, newage, city);
-                Admin.addArtist(artist);
+                admin.addArtist(artist);
             }
             if (type.equals("host")) {
                 String newage = age.toString();
                 Host host = new Host(name, newage, city);
-                Admin.addHost(host);
+                admin.addHost(host);
             }
             if (!type.equals("user")) {
                 user.setConnectionStatus(false);
@@ -509,20 +408,14 @@ public final class CommandRunner {
         } else {
             message = "The username " + name + " is already taken.";
         }
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        return new MessageOutput(commandInput, message);
     }
 
     /**
      * Adds a new album.
      */
-    public static ObjectNode addAlbum(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public MessageOutput addAlbum(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         String message;
         String name = commandInput.getName();
         Integer releaseyear = commandInput.getReleaseYear();
@@ -536,9 +429,8 @@ public final class CommandRunner {
                         + " is not an artist.";
             } else {
                 boolean contains = false;
-                for (Album album1 : Admin.getAlbums()) {
-                    if (album1.getName().equals(name)
-                            && album1.getOwner().equals(user.getUsername())) {
+                for (Album album1 : admin.getAlbumsOf(user.getUsername())) {
+                    if (album1.getName().equals(name)) {
                         contains = true;
                     }
                 }
@@ -563,12 +455,12 @@ public final class CommandRunner {
                             Song newsong = new Song(song.getName(), song.getDuration(),
                                     song.getAlbum(), song.getTags(), song.getLyrics(),
                                     song.getGenre(), song.getReleaseYear(), song.getArtist());
-                            Admin.addSong(newsong);
+                            admin.addSong(newsong);
                             newsongs.add(newsong);
                         }
                         Album album = new Album(name, releaseyear, description,
                                 newsongs, commandInput.getUsername());
-                        Admin.addAlbum(album);
+                        admin.addAlbum(album);
                         message = commandInput.getUsername()
                                 + " has added new album successfully.";
                     }
@@ -576,20 +468,14 @@ public final class CommandRunner {
             }
         }
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        return new MessageOutput(commandInput, message);
     }
 
     /**
      * Shows all albums.
      */
-    public static ObjectNode showAlbums(final CommandInput commandInput) {
-        List<AlbumOutput> albums = Admin.showAlbums(commandInput.getUsername());
+    public ObjectNode showAlbums(final CommandInput commandInput) {
+        List<AlbumOutput> albums = admin.showAlbums(commandInput.getUsername());
 
         ObjectNode objectNode = objectMapper.createObjectNode();
         objectNode.put("command", commandInput.getCommand());
@@ -602,10 +488,10 @@ public final class CommandRunner {
     /**
      * Prints the current page of a user.
      */
-    public static ObjectNode printCurrentPage(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public ObjectNode printCurrentPage(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         assert user != null;
-        String message = Admin.printCurrentPage(user);
+        String message = admin.printCurrentPage(user);
         ObjectNode objectNode = objectMapper.createObjectNode();
         objectNode.put("user", commandInput.getUsername());
         objectNode.put("command", commandInput.getCommand());
@@ -617,8 +503,8 @@ public final class CommandRunner {
     /**
      * Adds a new event.
      */
-    public static ObjectNode addEvent(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public MessageOutput addEvent(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         String message;
         String date = commandInput.getDate();
         String name = commandInput.getName();
@@ -630,7 +516,7 @@ public final class CommandRunner {
                 message = commandInput.getUsername() + " is not an artist.";
             } else {
                 boolean contains = false;
-                for (Event event : Admin.getEvents()) {
+                for (Event event : admin.getEvents()) {
                     if (event.getName().equals(name)) {
                         contains = true;
                     }
@@ -644,19 +530,14 @@ public final class CommandRunner {
                                 + " does not have a valid date.";
                     } else {
                         Event newevent = new Event(name, description, date);
-                        Admin.addEvent(newevent);
+                        admin.addEvent(newevent);
                         message = commandInput.getUsername()
                                 + " has added new event successfully.";
                     }
                 }
             }
         }
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-        return objectNode;
+        return new MessageOutput(commandInput, message);
     }
 
     /**
@@ -686,8 +567,8 @@ public final class CommandRunner {
     /**
      * Adds new merch.
      */
-    public static ObjectNode addMerch(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public MessageOutput addMerch(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         String message;
         String name = commandInput.getName();
         String description = commandInput.getDescription();
@@ -699,7 +580,7 @@ public final class CommandRunner {
                 message = commandInput.getUsername() + " is not an artist.";
             } else {
                 boolean contains = false;
-                for (Merch merch : Admin.getMerch()) {
+                for (Merch merch : admin.getMerch()) {
                     if (merch.getName().equals(name)) {
                         contains = true;
                     }
@@ -712,26 +593,21 @@ public final class CommandRunner {
                         message = "Price for merchandise can not be negative.";
                     } else {
                         Merch newmerch = new Merch(name, description, price);
-                        Admin.addMerch(newmerch);
+                        admin.addMerch(newmerch);
                         message = commandInput.getUsername()
                                 + " has added new merchandise successfully.";
                     }
                 }
             }
         }
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-        return objectNode;
+        return new MessageOutput(commandInput, message);
     }
 
     /**
      * Gets all the users.
      */
-    public static ObjectNode getAllUsers(final CommandInput commandInput) {
-        List<User> users = Admin.getAllUsers();
+    public NamesOutput getAllUsers(final CommandInput commandInput) {
+        List<User> users = admin.getAllUsers();
         List<String> names = new ArrayList<>();
         for (User user : users) {
             if (user.getType().equals("user")) {
@@ -748,81 +624,56 @@ public final class CommandRunner {
                 names.add(user.getUsername());
             }
         }
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("result", objectMapper.valueToTree(names));
-        return objectNode;
+        return NamesOutput.of(commandInput, names);
     }
 
     /**
      * Deletes a user if the conditions are met.
      */
-    public static ObjectNode deleteUser(final CommandInput commandInput) {
-        User delUser = Admin.getUser(commandInput.getUsername());
+    public MessageOutput deleteUser(final CommandInput commandInput) {
+        User delUser = admin.getUser(commandInput.getUsername());
         String message;
-        boolean isInteraction = false;
-        for (User user : Admin.getAllUsers()) {
-            isInteraction = user.checkInteraction(delUser);
-            if (isInteraction) {
-                break;
-            }
-        }
-        if (isInteraction) {
+        if (admin.isReferenced(delUser)) {
             message = delUser.getUsername() + " can't be deleted.";
         } else {
+            ReferenceIndex references = admin.getReferences();
             for (Playlist playlist : delUser.getPlaylists()) {
-                for (User user : Admin.getAllUsers()) {
-                    user.getFollowedPlaylists().remove(playlist);
-                }
+                references.detachPlaylist(playlist);
             }
             for (Song song : delUser.getLikedSongs()) {
                 song.dislike();
+                admin.likesChanged(song, -1);
             }
             for (Playlist playlist : delUser.getFollowedPlaylists()) {
                 playlist.decreaseFollowers();
+                admin.followersChanged(playlist);
             }
             if (delUser.getType().equals("artist")) {
-                for (Song song : Admin.getSongs()) {
-                    if (song.getArtist().equals(delUser.getUsername())) {
-                        for (User user : Admin.getAllUsers()) {
-                            user.getLikedSongs().remove(song);
-                            for (Playlist playlist : user.getPlaylists()) {
-                                playlist.getSongs().remove(song);
-                            }
-                        }
-                        Admin.removeSong(song);
-                    }
+                for (Song song : new ArrayList<>(admin.getSongsOf(delUser.getUsername()))) {
+                    references.detachSong(song);
+                    admin.removeSong(song);
                 }
-                for (Album album : Admin.getAlbums()) {
-                    if (album.getOwner().equals(delUser.getUsername())) {
-                        Admin.removeAlbum(album);
-                    }
+                for (Album album : new ArrayList<>(admin.getAlbumsOf(delUser.getUsername()))) {
+                    admin.removeAlbum(album);
                 }
             }
             if (delUser.getType().equals("host")) {
-                for (Podcast podcast : Admin.getPodcasts()) {
-                    if (podcast.getOwner().equals(delUser.getUsername())) {
-                        Admin.removePodcast(podcast);
-                    }
+                for (Podcast podcast
+                        : new ArrayList<>(admin.getPodcastsOf(delUser.getUsername()))) {
+                    admin.removePodcast(podcast);
                 }
             }
-            Admin.removeUser(delUser);
+            admin.removeUser(delUser);
             message = delUser.getUsername() + " was successfully deleted.";
         }
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-        return objectNode;
+        return new MessageOutput(commandInput, message);
     }
 
     /**
      * Adds a new podcast.
      */
-    public static ObjectNode addPodcast(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public MessageOutput addPodcast(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         String message;
         String name = commandInput.getName();
         ArrayList<EpisodeInput> episodes = commandInput.getEpisodes();
@@ -834,9 +685,8 @@ public final class CommandRunner {
                 message = commandInput.getUsername() + " is not a host.";
             } else {
                 boolean contains = false;
-                for (Podcast podcast : Admin.getPodcasts()) {
-                    if (podcast.getName().equals(name)
-                            && podcast.getOwner().equals(user.getUsername())) {
+                for (Podcast podcast : admin.getPodcastsOf(user.getUsername())) {
+                    if (podcast.getName().equals(name)) {
                         contains = true;
                     }
                 }
@@ -863,7 +713,7 @@ public final class CommandRunner {
                             newepisodes.add(newepisode);
                         }
                         Podcast podcast = new Podcast(name, user.getUsername(), newepisodes);
-                        Admin.addPodcast(podcast);
+                        admin.addPodcast(podcast);
                         message = commandInput.getUsername()
                                 + " has added new podcast successfully.";
                     }
@@ -871,20 +721,14 @@ public final class CommandRunner {
             }
         }
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        return new MessageOutput(commandInput, message);
     }
 
     /**
      * Adds a new announcement.
      */
-    public static ObjectNode addAnnouncement(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public MessageOutput addAnnouncement(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         String message;
         String name = commandInput.getName();
         String description = commandInput.getDescription();
@@ -895,7 +739,7 @@ public final class CommandRunner {
                 message = commandInput.getUsername() + " is not a host.";
             } else {
                 boolean contains = false;
-                for (Announcement announcement : Admin.getAnnouncements()) {
+                for (Announcement announcement : admin.getAnnouncements()) {
                     if (announcement.getName().equals(name)) {
                         contains = true;
                     }
@@ -905,25 +749,20 @@ public final class CommandRunner {
                             + " has already added an announcement with this name.";
                 } else {
                     Announcement announcement = new Announcement(name, description);
-                    Admin.addAnnouncement(announcement);
+                    admin.addAnnouncement(announcement);
                     message = commandInput.getUsername()
                             + " has successfully added new announcement.";
                 }
             }
         }
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-        return objectNode;
+        return new MessageOutput(commandInput, message);
     }
 
     /**
      * Deletes an announcement.
      */
-    public static ObjectNode removeAnnouncement(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public MessageOutput removeAnnouncement(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         String message;
         String name = commandInput.getName();
         if (user == null) {
@@ -933,10 +772,10 @@ public final class CommandRunner {
                 message = commandInput.getUsername() + " is not a host.";
             } else {
                 boolean contains = false;
-                for (Announcement announcement : Admin.getAnnouncements()) {
+                for (Announcement announcement : admin.getAnnouncements()) {
                     if (announcement.getName().equals(name)) {
                         contains = true;
-                        Admin.removeAnnouncement(announcement);
+                        admin.removeAnnouncement(announcement);
                         break;
                     }
                 }
@@ -949,19 +788,14 @@ public final class CommandRunner {
                 }
             }
         }
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-        return objectNode;
+        return new MessageOutput(commandInput, message);
     }
 
     /**
      * Shows all the podcasts.
      */
-    public static ObjectNode showPodcasts(final CommandInput commandInput) {
-        List<PodcastOutput> podcasts = Admin.showPodcasts(commandInput.getUsername());
+    public ObjectNode showPodcasts(final CommandInput commandInput) {
+        List<PodcastOutput> podcasts = admin.showPodcasts(commandInput.getUsername());
 
         ObjectNode objectNode = objectMapper.createObjectNode();
         objectNode.put("command", commandInput.getCommand());
@@ -974,11 +808,10 @@ public final class CommandRunner {
     /**
      * Removes an album if the conditions are met.
      */
-    public static ObjectNode removeAlbum(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public MessageOutput removeAlbum(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         String message;
         String name = commandInput.getName();
-        boolean isInteraction = false;
         if (user == null) {
             message = "The username " + commandInput.getUsername() + " doesn't exist.";
         } else {
@@ -986,9 +819,8 @@ public final class CommandRunner {
                 message = commandInput.getUsername() + " is not an artist.";
             } else {
                 boolean contains = false;
-                for (Album album : Admin.getAlbums()) {
-                    if (album.getName().equals(name)
-                            && album.getOwner().equals(user.getUsername())) {
+                for (Album album : admin.getAlbumsOf(user.getUsername())) {
+                    if (album.getName().equals(name)) {
                         contains = true;
                         break;
                     }
@@ -997,66 +829,44 @@ public final class CommandRunner {
                     message = commandInput.getUsername()
                             + " doesn't have an album with the given name.";
                 } else {
-                    for (User user1 : Admin.getAllUsers()) {
-                        isInteraction = user1.checkLoadedAlbum(name);
-                        if (isInteraction) {
-                            break;
-                        }
-                    }
-                    if (isInteraction) {
+                    if (admin.isAlbumInUse(name)) {
                         message = commandInput.getUsername() + " can't delete this album.";
                     } else {
                         message = commandInput.getUsername() + " deleted the album successfully.";
-                        for (Album album : Admin.getAlbums()) {
-                            if (album.getName().equals(name)
-                                    && album.getOwner().equals(user.getUsername())) {
+                        for (Album album
+                                : new ArrayList<>(admin.getAlbumsOf(user.getUsername()))) {
+                            if (album.getName().equals(name)) {
                                 for (Song song : album.getSongs()) {
-                                    for (User user1 : Admin.getAllUsers()) {
-                                        user1.getLikedSongs().remove(song);
-                                        for (Playlist playlist : user1.getPlaylists()) {
-                                            playlist.getSongs().remove(song);
-                                        }
-                                    }
-                                    Admin.removeSong(song);
+                                    admin.getReferences().detachSong(song);
+                                    admin.removeSong(song);
                                 }
-                                Admin.removeAlbum(album);
+                                admin.removeAlbum(album);
                             }
                         }
                     }
                 }
             }
         }
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-        return objectNode;
+        return new MessageOutput(commandInput, message);
     }
 
     /**
      * Changes the page of a user.
      */
-    public static ObjectNode changePage(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public MessageOutput changePage(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         String nextpage = commandInput.getNextPage();
         String message = user.changePage(nextpage);
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-        return objectNode;
+        return new MessageOutput(commandInput, message);
     }
 
     /**
      * Deletes a podcast.
      */
-    public static ObjectNode removePodcast(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public MessageOutput removePodcast(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         String message;
         String name = commandInput.getName();
-        boolean isInteraction = false;
         if (user == null) {
             message = "The username " + commandInput.getUsername() + " doesn't exist.";
         } else {
@@ -1064,9 +874,8 @@ public final class CommandRunner {
                 message = commandInput.getUsername() + " is not a host.";
             } else {
                 boolean contains = false;
-                for (Podcast podcast : Admin.getPodcasts()) {
-                    if (podcast.getName().equals(name)
-                            && podcast.getOwner().equals(user.getUsername())) {
+                for (Podcast podcast : admin.getPodcastsOf(user.getUsername())) {
+                    if (podcast.getName().equals(name)) {
                         contains = true;
                         break;
                     }
@@ -1075,39 +884,28 @@ public final class CommandRunner {
                     message = commandInput.getUsername()
                             + " doesn't have a podcast with the given name.";
                 } else {
-                    for (User user1 : Admin.getAllUsers()) {
-                        isInteraction = user1.checkLoadedPodcast(name);
-                        if (isInteraction) {
-                            break;
-                        }
-                    }
-                    if (isInteraction) {
+                    if (admin.isPodcastInUse(name)) {
                         message = commandInput.getUsername() + " can't delete this podcast.";
                     } else {
                         message = commandInput.getUsername()
                                 + " deleted the podcast successfully.";
-                        for (Podcast podcast : Admin.getPodcasts()) {
+                        for (Podcast podcast : new ArrayList<>(admin.getPodcasts())) {
                             if (podcast.getName().equals(name)) {
-                                Admin.removePodcast(podcast);
+                                admin.removePodcast(podcast);
                             }
                         }
                     }
                 }
             }
         }
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-        return objectNode;
+        return new MessageOutput(commandInput, message);
     }
 
     /**
      * Deletes an event.
      */
-    public static ObjectNode removeEvent(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public MessageOutput removeEvent(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
         String message;
         String name = commandInput.getName();
         if (user == null) {
@@ -1117,10 +915,10 @@ public final class CommandRunner {
                 message = commandInput.getUsername() + " is not a host.";
             } else {
                 boolean contains = false;
-                for (Event event : Admin.getEvents()) {
+                for (Event event : admin.getEvents()) {
                     if (event.getName().equals(name)) {
                         contains = true;
-                        Admin.removeEvent(event);
+                        admin.removeEvent(event);
                         break;
                     }
                 }
@@ -1133,39 +931,24 @@ public final class CommandRunner {
                 }
             }
         }
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-        return objectNode;
+        return new MessageOutput(commandInput, message);
     }
 
     /**
      * Gets the top 5 albums
      */
-    public static ObjectNode getTop5Albums(final CommandInput commandInput) {
-        List<String> songs = Admin.getTop5Albums();
+    public NamesOutput getTop5Albums(final CommandInput commandInput) {
+        List<String> songs = admin.getTop5Albums();
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("result", objectMapper.valueToTree(songs));
-
-        return objectNode;
+        return NamesOutput.of(commandInput, songs);
     }
 
     /**
      * Gets the top 5 artists
      */
-    public static ObjectNode getTop5Artists(final CommandInput commandInput) {
-        List<String> songs = Admin.getTop5Artists();
+    public NamesOutput getTop5Artists(final CommandInput commandInput) {
+        List<String> songs = admin.getTop5Artists();
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("result", objectMapper.valueToTree(songs));
-
-        return objectNode;
+        return NamesOutput.of(commandInput, songs);
     }
 }
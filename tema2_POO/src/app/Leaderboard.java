@@ -0,0 +1,110 @@
+package app;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Items ranked by score, highest first. Equal scores are ordered by a tie-break comparator and
+ * then by the order the items were added, the same as a stable sort of the list they came
+ * from. Scores are updated in place, so reading the top of the ranking costs only its length.
+ *
+ * @param <T> the type of the items
+ */
+final class Leaderboard<T> {
+    private final Map<T, Entry<T>> entries = new IdentityHashMap<>();
+    private final TreeSet<Entry<T>> ranking;
+
+    /**
+     * Instantiates a new Leaderboard.
+     *
+     * @param tieBreak orders items with equal scores
+     */
+    Leaderboard(final Comparator<T> tieBreak) {
+        Comparator<Entry<T>> byScore = (left, right) -> Integer.compare(right.score, left.score);
+        ranking = new TreeSet<>(byScore.thenComparing(entry -> entry.item, tieBreak)
+                                       .thenComparingLong(entry -> entry.order));
+    }
+
+    /**
+     * Adds an item.
+     *
+     * @param item  the item
+     * @param score the score
+     * @param order the position of the item in its list, only compared with other orders
+     */
+    void add(final T item, final int score, final long order) {
+        Entry<T> entry = new Entry<>(item, score, order);
+        entries.put(item, entry);
+        ranking.add(entry);
+    }
+
+    /**
+     * Removes an item, if it is there.
+     *
+     * @param item the item
+     */
+    void remove(final T item) {
+        Entry<T> entry = entries.remove(item);
+        if (entry != null) {
+            ranking.remove(entry);
+        }
+    }
+
+    /**
+     * Changes the score of an item, if it is there.
+     *
+     * @param item  the item
+     * @param score the new score
+     */
+    void update(final T item, final int score) {
+        Entry<T> entry = entries.get(item);
+        if (entry == null || entry.score == score) {
+            return;
+        }
+
+        ranking.remove(entry);
+        add(item, score, entry.order);
+    }
+
+    /**
+     * Gets the best items whose score is at least a minimum.
+     *
+     * @param limit    the maximum number of items
+     * @param minScore the minimum score
+     * @return the items, best first
+     */
+    List<T> top(final int limit, final int minScore) {
+        List<T> top = new ArrayList<>();
+        for (Entry<T> entry : ranking) {
+            if (top.size() >= limit || entry.score < minScore) {
+                break;
+            }
+            top.add(entry.item);
+        }
+        return top;
+    }
+
+    /**
+     * Removes every item.
+     */
+    void clear() {
+        entries.clear();
+        ranking.clear();
+    }
+
+    private static final class Entry<T> {
+        private final T item;
+        private final int score;
+        private final long order;
+
+        Entry(final T item, final int score, final long order) {
+            this.item = item;
+            this.score = score;
+            this.order = order;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package app;
+
+import app.audio.Collections.Album;
+import app.audio.Collections.Playlist;
+import app.audio.Files.Song;
+import app.audio.LibraryEntry;
+import app.user.Artist;
+import app.user.User;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The top 5 songs, playlists, albums and artists, kept up to date as likes and followers
+ * change instead of being recomputed from the whole catalogue. Ties are broken exactly as the
+ * full sorts did: songs by library order, playlists by creation timestamp and then by owner
+ * and position, albums and artists by name and then by the order they were added.
+ */
+final class Leaderboards {
+    private static final int SIZE = 5;
+    private static final int PLAYLIST_BITS = 32;
+
+    private final Leaderboard<Song> songs = new Leaderboard<>((left, right) -> 0);
+    private final Leaderboard<Playlist> playlists =
+            new Leaderboard<>(Comparator.comparingInt(Playlist::getTimestamp));
+    private final Leaderboard<Album> albums =
+            new Leaderboard<>(Comparator.comparing(Album::getName));
+    private final Leaderboard<Artist> artists =
+            new Leaderboard<>(Comparator.comparing(Artist::getName));
+
+    private final Map<Album, Integer> albumLikes = new IdentityHashMap<>();
+    private final Map<Song, List<Album>> albumsOfSong = new IdentityHashMap<>();
+    private final Map<String, Integer> ownerLikes = new HashMap<>();
+    private final Map<String, List<Artist>> artistsByName = new HashMap<>();
+    private final Map<User, Long> userOrder = new IdentityHashMap<>();
+    private long next;
+
+    /**
+     * Ranks a song after all the others.
+     *
+     * @param song the song
+     */
+    void songAdded(final Song song) {
+        songs.add(song, song.getLikes(), next++);
+    }
+
+    /**
+     * Stops ranking a song.
+     *
+     * @param song the song
+     */
+    void songRemoved(final Song song) {
+        songs.remove(song);
+    }
+
+    /**
+     * Stops ranking every song.
+     */
+    void songsCleared() {
+        songs.clear();
+    }
+
+    /**
+     * Updates the song, its albums and the artists owning them after a like or an unlike.
+     *
+     * @param song  the song
+     * @param delta the change in likes
+     */
+    void likesChanged(final Song song, final int delta) {
+        songs.update(song, song.getLikes());
+        for (Album album : albumsOfSong.getOrDefault(song, List.of())) {
+            albums.update(album, albumLikes.merge(album, delta, Integer::sum));
+            ownerLikesChanged(album.getOwner(), delta);
+        }
+    }
+
+    /**
+     * Ranks an album, and counts its likes for its owner.
+     *
+     * @param album the album
+     */
+    void albumAdded(final Album album) {
+        int likes = 0;
+        for (Song song : album.getSongs()) {
+            likes += song.getLikes();
+            albumsOfSong.computeIfAbsent(song, key -> new ArrayList<>()).add(album);
+        }
+        albumLikes.put(album, likes);
+        albums.add(album, likes, next++);
+        ownerLikesChanged(album.getOwner(), likes);
+    }
+
+    /**
+     * Stops ranking an album, and stops counting its likes for its owner.
+     *
+     * @param album the album
+     */
+    void albumRemoved(final Album album) {
+        Integer likes = albumLikes.remove(album);
+        if (likes == null) {
+            return;
+        }
+
+        albums.remove(album);
+        for (Song song : album.getSongs()) {
+            List<Album> songAlbums = albumsOfSong.get(song);
+            songAlbums.remove(album);
+            if (songAlbums.isEmpty()) {
+                albumsOfSong.remove(song);
+            }
+        }
+        ownerLikesChanged(album.getOwner(), -likes);
+    }
+
+    /**
+     * Ranks an artist after all the others.
+     *
+     * @param artist the artist
+     */
+    void artistAdded(final Artist artist) {
+        artistsByName.computeIfAbsent(artist.getName(), key -> new ArrayList<>()).add(artist);
+        artists.add(artist, ownerLikes.getOrDefault(artist.getName(), 0), next++);
+    }
+
+    /**
+     * Ranks the playlists of a user after those of all the other users.
+     *
+     * @param user the user
+     */
+    void userAdded(final User user) {
+        userOrder.put(user, next++);
+        for (Playlist playlist : user.getPlaylists()) {
+            playlistAdded(user, playlist);
+        }
+    }
+
+    /**
+     * Stops ranking the playlists of a user.
+     *
+     * @param user the user
+     */
+    void userRemoved(final User user) {
+        if (userOrder.remove(user) == null) {
+            return;
+        }
+        for (Playlist playlist : user.getPlaylists()) {
+            playlists.remove(playlist);
+        }
+    }
+
+    /**
+     * Stops ranking every playlist.
+     */
+    void usersCleared() {
+        userOrder.clear();
+        playlists.clear();
+    }
+
+    /**
+     * Ranks a new playlist after the other playlists of its owner.
+     *
+     * @param owner    the owner
+     * @param playlist the playlist
+     */
+    void playlistAdded(final User owner, final Playlist playlist) {
+        Long order = userOrder.get(owner);
+        if (order != null) {
+            playlists.add(playlist, playlist.getFollowers(),
+                          (order << PLAYLIST_BITS) + next++);
+        }
+    }
+
+    /**
+     * Updates a playlist after a follow or an unfollow.
+     *
+     * @param playlist the playlist
+     */
+    void followersChanged(final Playlist playlist) {
+        playlists.update(playlist, playlist.getFollowers());
+    }
+
+    /**
+     * Gets top 5 songs.
+     *
+     * @return the names of the songs
+     */
+    List<String> getTop5Songs() {
+        return names(songs.top(SIZE, Integer.MIN_VALUE));
+    }
+
+    /**
+     * Gets top 5 playlists.
+     *
+     * @return the names of the playlists
+     */
+    List<String> getTop5Playlists() {
+        return names(playlists.top(SIZE, Integer.MIN_VALUE));
+    }
+
+    /**
+     * Gets top 5 albums. Albums with negative likes never made the list, and still don't.
+     *
+     * @return the names of the albums
+     */
+    List<String> getTop5Albums() {
+        return names(albums.top(SIZE, 0));
+    }
+
+    /**
+     * Gets top 5 artists. Artists with negative likes never made the list, and still don't.
+     *
+     * @return the names of the artists
+     */
+    List<String> getTop5Artists() {
+        return names(artists.top(SIZE, 0));
+    }
+
+    private void ownerLikesChanged(final String owner, final int delta) {
+        int likes = ownerLikes.merge(owner, delta, Integer::sum);
+        for (Artist artist : artistsByName.getOrDefault(owner, List.of())) {
+            artists.update(artist, likes);
+        }
+    }
+
+    private static List<String> names(final List<? extends LibraryEntry> entries) {
+        List<String> names = new ArrayList<>();
+        for (LibraryEntry entry : entries) {
+            names.add(entry.getName());
+        }
+        return names;
+    }
+}
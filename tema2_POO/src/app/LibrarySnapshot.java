@@ -0,0 +1,60 @@
+package app;
+
+import app.audio.Files.Episode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fileio.input.EpisodeInput;
+import fileio.input.LibraryInput;
+import fileio.input.PodcastInput;
+import fileio.input.SongInput;
+import fileio.input.UserInput;
+import lombok.Getter;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The library as parsed from library.json, shared read-only by every run. Admin.setLibrary
+ * builds the per-run songs, podcasts and users on top of it, reusing its strings, tag lists
+ * and episodes, so the mutable state (likes, followers, playlists, players) is never shared.
+ */
+@Getter
+public final class LibrarySnapshot {
+    private final List<SongInput> songs;
+    private final List<PodcastInput> podcasts;
+    private final List<UserInput> users;
+    private final List<List<Episode>> episodes;
+
+    private LibrarySnapshot(final LibraryInput library) {
+        songs = Collections.unmodifiableList(new ArrayList<>(library.getSongs()));
+        podcasts = Collections.unmodifiableList(new ArrayList<>(library.getPodcasts()));
+        users = Collections.unmodifiableList(new ArrayList<>(library.getUsers()));
+
+        List<List<Episode>> podcastEpisodes = new ArrayList<>();
+        for (PodcastInput podcastInput : podcasts) {
+            List<Episode> list = new ArrayList<>();
+            for (EpisodeInput episodeInput : podcastInput.getEpisodes()) {
+                list.add(new Episode(episodeInput.getName(),
+                                     episodeInput.getDuration(),
+                                     episodeInput.getDescription()));
+            }
+            podcastEpisodes.add(Collections.unmodifiableList(list));
+        }
+        episodes = Collections.unmodifiableList(podcastEpisodes);
+    }
+
+    /**
+     * Reads a library file.
+     *
+     * @param objectMapper the object mapper
+     * @param file         the library file
+     * @return the library snapshot
+     * @throws IOException in case of exceptions to reading
+     */
+    public static LibrarySnapshot read(final ObjectMapper objectMapper,
+                                       final File file) throws IOException {
+        return new LibrarySnapshot(objectMapper.readValue(file, LibraryInput.class));
+    }
+}
@@ -0,0 +1,56 @@
+package app;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Items grouped by the username of their owner, each group in the order the items were added.
+ *
+ * @param <T> the type of the items
+ */
+final class OwnerIndex<T> {
+    private final Map<String, List<T>> byOwner = new HashMap<>();
+
+    /**
+     * Adds an item after the other items of its owner.
+     *
+     * @param owner the owner
+     * @param item  the item
+     */
+    void add(final String owner, final T item) {
+        byOwner.computeIfAbsent(owner, key -> new ArrayList<>()).add(item);
+    }
+
+    /**
+     * Removes the first occurrence of an item.
+     *
+     * @param owner the owner
+     * @param item  the item
+     */
+    void remove(final String owner, final T item) {
+        List<T> items = byOwner.get(owner);
+        if (items != null && items.remove(item) && items.isEmpty()) {
+            byOwner.remove(owner);
+        }
+    }
+
+    /**
+     * Gets the items of an owner.
+     *
+     * @param owner the owner
+     * @return a read-only view of the items
+     */
+    List<T> get(final String owner) {
+        return Collections.unmodifiableList(byOwner.getOrDefault(owner, List.of()));
+    }
+
+    /**
+     * Removes every item.
+     */
+    void clear() {
+        byOwner.clear();
+    }
+}
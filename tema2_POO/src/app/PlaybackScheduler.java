@@ -0,0 +1,98 @@
+package app;
+
+import app.user.User;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Keeps the players in sync with the platform time without touching every user on every
+ * timestamp. Players are only advanced eagerly when their current track ends; the rest catch
+ * up the next time their user is fetched through AdminContext.getUser.
+ */
+public final class PlaybackScheduler {
+    private final PriorityQueue<Boundary> boundaries =
+            new PriorityQueue<>(Comparator.comparingInt(boundary -> boundary.deadline));
+    private final Map<User, Integer> deadlines = new HashMap<>();
+    private final Set<User> touched = new LinkedHashSet<>();
+
+    /**
+     * Marks a user whose player may have changed, so its next track boundary gets recomputed
+     * before time moves on. Safe to call from commands running in parallel; the other methods
+     * only run while none do.
+     *
+     * @param user the user
+     */
+    public synchronized void touch(final User user) {
+        touched.add(user);
+    }
+
+    /**
+     * Forgets a user, dropping any pending boundary.
+     *
+     * @param user the user
+     */
+    public void remove(final User user) {
+        touched.remove(user);
+        deadlines.remove(user);
+    }
+
+    /**
+     * Advances every player whose current track ends at or before the new timestamp.
+     *
+     * @param newTimestamp the new timestamp
+     */
+    public void advance(final int newTimestamp) {
+        for (User user : touched) {
+            schedule(user);
+        }
+        touched.clear();
+
+        // players reaching a boundary exactly at newTimestamp move on at the next advance,
+        // so they are only rescheduled once the queue has been drained up to this point
+        List<User> advanced = new ArrayList<>();
+        while (!boundaries.isEmpty() && boundaries.peek().deadline <= newTimestamp) {
+            Boundary boundary = boundaries.poll();
+            Integer deadline = deadlines.get(boundary.user);
+            if (deadline == null || deadline != boundary.deadline) {
+                continue;
+            }
+
+            boundary.user.syncTime(newTimestamp);
+            deadlines.remove(boundary.user);
+            advanced.add(boundary.user);
+        }
+        for (User user : advanced) {
+            schedule(user);
+        }
+    }
+
+    private void schedule(final User user) {
+        if (!user.isConnectionStatus() || !user.isPlaying()) {
+            deadlines.remove(user);
+            return;
+        }
+
+        int deadline = user.getNextBoundary();
+        Integer current = deadlines.put(user, deadline);
+        if (current == null || current != deadline) {
+            boundaries.add(new Boundary(deadline, user));
+        }
+    }
+
+    private static final class Boundary {
+        private final int deadline;
+        private final User user;
+
+        Boundary(final int deadline, final User user) {
+            this.deadline = deadline;
+            this.user = user;
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package app;
+
+import app.audio.Collections.Playlist;
+import app.audio.Files.Song;
+import app.user.User;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Who refers to what: the podcasts users visited, the pages they are on, the songs they liked,
+ * the playlists they follow, the songs in their playlists and the tracks their players are on.
+ * Only users still on the platform are counted, so checking whether an artist or a host can be
+ * deleted, and detaching their content, costs only as much as the references to it.
+ */
+public final class ReferenceIndex {
+    private final Set<User> users = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Map<User, Track> playing = new IdentityHashMap<>();
+    private final Map<String, Map<String, Integer>> tracks = new HashMap<>();
+    private final Map<String, Set<User>> players = new HashMap<>();
+    private final Set<Playlist> playlists = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Map<String, Integer> visits = new HashMap<>();
+    private final Map<String, Integer> selections = new HashMap<>();
+    private final Map<String, Integer> playlistArtists = new HashMap<>();
+    private final Map<Song, List<Playlist>> playlistsWith = new IdentityHashMap<>();
+    private final Map<Song, List<User>> likers = new IdentityHashMap<>();
+    private final Map<Playlist, List<User>> followers = new IdentityHashMap<>();
+
+    /**
+     * Starts counting the references of a user.
+     *
+     * @param user the user
+     */
+    public void userAdded(final User user) {
+        if (!users.add(user)) {
+            return;
+        }
+
+        count(selections, user.getSelectedSearch(), 1);
+        for (String podcast : user.getPodcastsVisited()) {
+            count(visits, podcast, 1);
+        }
+        for (Song song : user.getLikedSongs()) {
+            liked(user, song);
+        }
+        for (Playlist playlist : user.getFollowedPlaylists()) {
+            followed(user, playlist);
+        }
+        for (Playlist playlist : user.getPlaylists()) {
+            playlistCreated(user, playlist);
+        }
+    }
+
+    /**
+     * Stops counting the references of a user, and of its playlists.
+     *
+     * @param user the user
+     */
+    public void userRemoved(final User user) {
+        if (!users.remove(user)) {
+            return;
+        }
+
+        stopPlaying(user);
+        count(selections, user.getSelectedSearch(), -1);
+        for (String podcast : user.getPodcastsVisited()) {
+            count(visits, podcast, -1);
+        }
+        for (Song song : user.getLikedSongs()) {
+            remove(likers, song, user);
+        }
+        for (Playlist playlist : user.getFollowedPlaylists()) {
+            remove(followers, playlist, user);
+        }
+        for (Playlist playlist : user.getPlaylists()) {
+            for (Song song : playlist.getSongs()) {
+                songRemoved(playlist, song);
+            }
+            playlists.remove(playlist);
+            followers.remove(playlist);
+        }
+    }
+
+    /**
+     * Counts a visit to a podcast.
+     *
+     * @param user    the user
+     * @param podcast the name of the podcast
+     */
+    public void visited(final User user, final String podcast) {
+        if (users.contains(user)) {
+            count(visits, podcast, 1);
+        }
+    }
+
+    /**
+     * Moves a user from one page to another.
+     *
+     * @param user the user
+     * @param from the page the user was on
+     * @param to   the page the user is on now
+     */
+    public void selected(final User user, final String from, final String to) {
+        if (users.contains(user)) {
+            count(selections, from, -1);
+            count(selections, to, 1);
+        }
+    }
+
+    /**
+     * Moves the player of a user to another track, or to nothing. User commands running on
+     * several threads at once may call this, so it is synchronized; the other methods only run
+     * while no commands run in parallel.
+     *
+     * @param user       the user
+     * @param sourceType the type of the loaded source, or null
+     * @param track      the name of the track the player is on, or null
+     */
+    public synchronized void playerChanged(final User user, final String sourceType,
+                                           final String track) {
+        if (!users.contains(user)) {
+            return;
+        }
+
+        stopPlaying(user);
+        if (sourceType != null && track != null) {
+            playing.put(user, new Track(sourceType, track));
+            count(tracks.computeIfAbsent(sourceType, key -> new HashMap<>()), track, 1);
+            players.computeIfAbsent(sourceType, key -> Collections.newSetFromMap(
+                    new IdentityHashMap<>())).add(user);
+        }
+    }
+
+    /**
+     * Counts a like.
+     *
+     * @param user the user
+     * @param song the song
+     */
+    public void liked(final User user, final Song song) {
+        if (users.contains(user)) {
+            likers.computeIfAbsent(song, key -> new ArrayList<>()).add(user);
+        }
+    }
+
+    /**
+     * Drops a like.
+     *
+     * @param user the user
+     * @param song the song
+     */
+    public void unliked(final User user, final Song song) {
+        remove(likers, song, user);
+    }
+
+    /**
+     * Counts a follow.
+     *
+     * @param user     the user
+     * @param playlist the playlist
+     */
+    public void followed(final User user, final Playlist playlist) {
+        if (users.contains(user)) {
+            followers.computeIfAbsent(playlist, key -> new ArrayList<>()).add(user);
+        }
+    }
+
+    /**
+     * Drops a follow.
+     *
+     * @param user     the user
+     * @param playlist the playlist
+     */
+    public void unfollowed(final User user, final Playlist playlist) {
+        remove(followers, playlist, user);
+    }
+
+    /**
+     * Starts counting the songs of a new playlist.
+     *
+     * @param owner    the owner
+     * @param playlist the playlist
+     */
+    public void playlistCreated(final User owner, final Playlist playlist) {
+        if (users.contains(owner) && playlists.add(playlist)) {
+            for (Song song : playlist.getSongs()) {
+                songAdded(playlist, song);
+            }
+        }
+    }
+
+    /**
+     * Counts a song added to a playlist.
+     *
+     * @param playlist the playlist
+     * @param song     the song
+     */
+    public void songAdded(final Playlist playlist, final Song song) {
+        if (playlists.contains(playlist)) {
+            count(playlistArtists, song.getArtist(), 1);
+            playlistsWith.computeIfAbsent(song, key -> new ArrayList<>()).add(playlist);
+        }
+    }
+
+    /**
+     * Drops a song removed from a playlist.
+     *
+     * @param playlist the playlist
+     * @param song     the song
+     */
+    public void songRemoved(final Playlist playlist, final Song song) {
+        if (playlists.contains(playlist) && remove(playlistsWith, song, playlist)) {
+            count(playlistArtists, song.getArtist(), -1);
+        }
+    }
+
+    /**
+     * Removes a song from the liked songs and from the playlists of every user.
+     *
+     * @param song the song
+     */
+    public void detachSong(final Song song) {
+        List<User> songLikers = likers.remove(song);
+        if (songLikers != null) {
+            for (User user : songLikers) {
+                user.getLikedSongs().remove(song);
+            }
+        }
+
+        List<Playlist> containing = playlistsWith.remove(song);
+        if (containing != null) {
+            for (Playlist playlist : containing) {
+                playlist.removeSong(song);
+                count(playlistArtists, song.getArtist(), -1);
+            }
+        }
+    }
+
+    /**
+     * Removes a playlist from the followed playlists of every user.
+     *
+     * @param playlist the playlist
+     */
+    public void detachPlaylist(final Playlist playlist) {
+        List<User> playlistFollowers = followers.remove(playlist);
+        if (playlistFollowers != null) {
+            for (User user : playlistFollowers) {
+                user.getFollowedPlaylists().remove(playlist);
+            }
+        }
+    }
+
+    /**
+     * Checks if any user visited a podcast with the given name.
+     *
+     * @param podcast the name of the podcast
+     * @return the boolean
+     */
+    public boolean isVisited(final String podcast) {
+        return visits.containsKey(podcast);
+    }
+
+    /**
+     * Checks if any user is on the given page.
+     *
+     * @param page the page
+     * @return the boolean
+     */
+    public boolean isSelected(final String page) {
+        return selections.containsKey(page);
+    }
+
+    /**
+     * Checks if any playlist has a song by the given artist.
+     *
+     * @param artist the artist
+     * @return the boolean
+     */
+    public boolean hasPlaylistSongsBy(final String artist) {
+        return playlistArtists.containsKey(artist);
+    }
+
+    /**
+     * Checks if any player with a source of the given type is on a track with the given name.
+     *
+     * @param sourceType the type of the source
+     * @param track      the name of the track
+     * @return the boolean
+     */
+    public boolean isPlaying(final String sourceType, final String track) {
+        Map<String, Integer> names = tracks.get(sourceType);
+        return names != null && names.containsKey(track);
+    }
+
+    /**
+     * Gets the users whose player is on a track of a source of the given type.
+     *
+     * @param sourceType the type of the source
+     * @return the users
+     */
+    public Set<User> getPlayers(final String sourceType) {
+        return Collections.unmodifiableSet(players.getOrDefault(sourceType, Set.of()));
+    }
+
+    private void stopPlaying(final User user) {
+        Track track = playing.remove(user);
+        if (track != null) {
+            count(tracks.get(track.type), track.name, -1);
+            players.get(track.type).remove(user);
+        }
+    }
+
+    private static <K> void count(final Map<K, Integer> counts, final K key, final int delta) {
+        counts.merge(key, delta, (left, right) -> left + right == 0 ? null : left + right);
+    }
+
+    private static <K, V> boolean remove(final Map<K, List<V>> lists, final K key,
+                                         final V value) {
+        List<V> list = lists.get(key);
+        if (list == null || !list.remove(value)) {
+            return false;
+        }
+        if (list.isEmpty()) {
+            lists.remove(key);
+        }
+        return true;
+    }
+
+    private static final class Track {
+        private final String type;
+        private final String name;
+
+        Track(final String type, final String name) {
+            this.type = type;
+            this.name = name;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package app.audio.Collections;
 
 import app.audio.Files.AudioFile;
 import app.audio.Files.Song;
+import app.searchBar.RangeFilter;
 import app.utils.Enums;
 import lombok.Getter;
 
@@ -123,16 +124,11 @@ public final class Playlist extends AudioCollection {
 
     @Override
     public boolean matchesFollowers(final String followerNum) {
-        return filterByFollowersCount(this.getFollowers(), followerNum);
+        return matchesFollowers(RangeFilter.parse(followerNum));
     }
 
-    private static boolean filterByFollowersCount(final int count, final String query) {
-        if (query.startsWith("<")) {
-            return count < Integer.parseInt(query.substring(1));
-        } else if (query.startsWith(">")) {
-            return count > Integer.parseInt(query.substring(1));
-        } else {
-            return count == Integer.parseInt(query);
-        }
+    @Override
+    public boolean matchesFollowers(final RangeFilter followerNum) {
+        return followerNum.test(this.getFollowers());
     }
 }
@@ -1,5 +1,6 @@
 package app.audio.Files;
 
+import app.searchBar.RangeFilter;
 import lombok.Getter;
 
 import java.util.ArrayList;
@@ -79,17 +80,12 @@ public final class Song extends AudioFile {
 
     @Override
     public boolean matchesReleaseYear(final String releaseYearFilter) {
-        return filterByYear(this.getReleaseYear(), releaseYearFilter);
+        return matchesReleaseYear(RangeFilter.parse(releaseYearFilter));
     }
 
-    private static boolean filterByYear(final int year, final String query) {
-        if (query.startsWith("<")) {
-            return year < Integer.parseInt(query.substring(1));
-        } else if (query.startsWith(">")) {
-            return year > Integer.parseInt(query.substring(1));
-        } else {
-            return year == Integer.parseInt(query);
-        }
+    @Override
+    public boolean matchesReleaseYear(final RangeFilter releaseYearFilter) {
+        return releaseYearFilter.test(this.getReleaseYear());
     }
 
     /**
@@ -1,5 +1,6 @@
 package app.audio;
 
+import app.searchBar.RangeFilter;
 import lombok.Getter;
 
 import java.util.ArrayList;
@@ -90,6 +91,16 @@ public abstract class LibraryEntry {
         return false;
     }
 
+    /**
+     * Matches release year boolean.
+     *
+     * @param releaseYear the parsed release year filter
+     * @return the boolean
+     */
+    public boolean matchesReleaseYear(final RangeFilter releaseYear) {
+        return false;
+    }
+
     /**
      * Matches owner boolean.
      *
@@ -120,6 +131,16 @@ public abstract class LibraryEntry {
         return false;
     }
 
+    /**
+     * Matches followers boolean.
+     *
+     * @param followers the parsed followers filter
+     * @return the boolean
+     */
+    public boolean matchesFollowers(final RangeFilter followers) {
+        return false;
+    }
+
     /**
      * Matches age boolean.
      *
@@ -6,13 +6,12 @@ import app.audio.LibraryEntry;
 import app.utils.Enums;
 import lombok.Getter;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * The type Player.
  */
 public final class Player {
+    private static final int MAX_BOOKMARKS = Integer.getInteger("player.bookmarks", 0);
+
     private Enums.RepeatMode repeatMode;
     private boolean shuffle;
     private boolean paused;
@@ -21,7 +20,7 @@ public final class Player {
     private String type;
     private final int skipTime = 90;
     @Getter
-    private ArrayList<PodcastBookmark> bookmarks = new ArrayList<>();
+    private final PodcastBookmarks bookmarks = new PodcastBookmarks(MAX_BOOKMARKS);
 
 
     /**
@@ -48,12 +47,9 @@ public final class Player {
 
     private void bookmarkPodcast() {
         if (source != null && source.getAudioFile() != null) {
-            PodcastBookmark currentBookmark =
-                    new PodcastBookmark(source.getAudioCollection().getName(),
-                                        source.getIndex(),
-                                        source.getDuration());
-            bookmarks.removeIf(bookmark -> bookmark.getName().equals(currentBookmark.getName()));
-            bookmarks.add(currentBookmark);
+            bookmarks.save(new PodcastBookmark(source.getAudioCollection().getName(),
+                                               source.getIndex(),
+                                               source.getDuration()));
         }
     }
 
@@ -67,7 +63,7 @@ public final class Player {
      */
     public static PlayerSource createSource(final String type,
                                             final LibraryEntry entry,
-                                            final List<PodcastBookmark> bookmarks) {
+                                            final PodcastBookmarks bookmarks) {
         if ("song".equals(type)) {
             return new PlayerSource(Enums.PlayerSourceType.LIBRARY, (AudioFile) entry);
         } else if ("playlist".equals(type)) {
@@ -81,11 +77,10 @@ public final class Player {
     }
 
     private static PlayerSource createPodcastSource(final AudioCollection collection,
-                                                    final List<PodcastBookmark> bookmarks) {
-        for (PodcastBookmark bookmark : bookmarks) {
-            if (bookmark.getName().equals(collection.getName())) {
-                return new PlayerSource(Enums.PlayerSourceType.PODCAST, collection, bookmark);
-            }
+                                                    final PodcastBookmarks bookmarks) {
+        PodcastBookmark bookmark = bookmarks.get(collection.getName());
+        if (bookmark != null) {
+            return new PlayerSource(Enums.PlayerSourceType.PODCAST, collection, bookmark);
         }
         return new PlayerSource(Enums.PlayerSourceType.PODCAST, collection);
     }
@@ -168,12 +163,19 @@ public final class Player {
     public void simulatePlayer(final int time) {
         int elapsedTime = time;
         if (!paused) {
+            int steps = 0;
             while (elapsedTime >= source.getDuration()) {
                 elapsedTime -= source.getDuration();
                 next();
                 if (paused) {
                     break;
                 }
+
+                steps++;
+                int loopLength = source.getLoopLength(repeatMode, shuffle);
+                if (loopLength > 0 && steps >= loopLength) {
+                    elapsedTime = source.fastForward(repeatMode, shuffle, elapsedTime);
+                }
             }
             if (!paused) {
                 source.skip(-elapsedTime);
@@ -238,6 +240,15 @@ public final class Player {
         return source.getAudioFile();
     }
 
+    /**
+     * Gets remained duration of the current track.
+     *
+     * @return the remained duration
+     */
+    public int getRemainedDuration() {
+        return source.getDuration();
+    }
+
     /**
      * Gets paused.
      *
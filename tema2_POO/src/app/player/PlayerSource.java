@@ -5,9 +5,6 @@ import app.audio.Files.AudioFile;
 import app.utils.Enums;
 import lombok.Getter;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
 import java.util.Random;
 
 /**
@@ -24,7 +21,8 @@ public class PlayerSource {
     private int index;
     private int indexShuffled;
     private int remainedDuration;
-    private final List<Integer> indices = new ArrayList<>();
+    private int[] shuffleOrder = new int[0];
+    private int[] shufflePositions = new int[0];
 
     /**
      * Instantiates a new Player source.
@@ -104,13 +102,13 @@ public class PlayerSource {
                 remainedDuration = audioFile.getDuration();
             } else if (repeatMode == Enums.RepeatMode.NO_REPEAT) {
                 if (shuffle) {
-                    if (indexShuffled == indices.size() - 1) {
+                    if (indexShuffled == shuffleOrder.length - 1) {
                         remainedDuration = 0;
                         isPaused = true;
                     } else {
                         indexShuffled++;
 
-                        index = indices.get(indexShuffled);
+                        index = shuffleOrder[indexShuffled];
                         updateAudioFile();
                         remainedDuration = audioFile.getDuration();
                     }
@@ -126,8 +124,8 @@ public class PlayerSource {
                 }
             } else if (repeatMode == Enums.RepeatMode.REPEAT_ALL) {
                 if (shuffle) {
-                    indexShuffled = (indexShuffled + 1) % indices.size();
-                    index = indices.get(indexShuffled);
+                    indexShuffled = (indexShuffled + 1) % shuffleOrder.length;
+                    index = shuffleOrder[indexShuffled];
                 } else {
                     index = (index + 1) % audioCollection.getNumberOfTracks();
                 }
@@ -139,6 +137,87 @@ public class PlayerSource {
         return isPaused;
     }
 
+    /**
+     * Gets the number of tracks after which the given repeat mode starts over, or 0 if the
+     * playback does not loop.
+     *
+     * @param repeatMode the repeat mode
+     * @param shuffle    the shuffle
+     * @return the loop length
+     */
+    public int getLoopLength(final Enums.RepeatMode repeatMode, final boolean shuffle) {
+        if (repeatMode == Enums.RepeatMode.NO_REPEAT
+            || repeatMode == Enums.RepeatMode.REPEAT_ONCE) {
+            return 0;
+        }
+        if (type == Enums.PlayerSourceType.LIBRARY
+            || repeatMode != Enums.RepeatMode.REPEAT_ALL) {
+            return 1;
+        }
+        if (shuffle) {
+            return shuffleOrder.length;
+        }
+        return audioCollection.getNumberOfTracks();
+    }
+
+    /**
+     * Skips whole tracks of a looping repeat mode in one go. The result is the same as calling
+     * setNextAudioFile for as long as the elapsed time covers the current track. Must be called
+     * at the start of a track.
+     *
+     * @param repeatMode  the repeat mode
+     * @param shuffle     the shuffle
+     * @param elapsedTime the elapsed time
+     * @return the elapsed time left, shorter than the track the source lands on
+     */
+    public int fastForward(final Enums.RepeatMode repeatMode, final boolean shuffle,
+                           final int elapsedTime) {
+        int size = getLoopLength(repeatMode, shuffle);
+        if (size == 1) {
+            if (remainedDuration == 0) {
+                return elapsedTime;
+            }
+            return elapsedTime % remainedDuration;
+        }
+
+        int[] prefix = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            int track = shuffle ? shuffleOrder[i] : i;
+            prefix[i + 1] = prefix[i] + audioCollection.getTrackByIndex(track).getDuration();
+        }
+        int total = prefix[size];
+        if (total == 0) {
+            return elapsedTime;
+        }
+
+        int target = prefix[shuffle ? indexShuffled : index] + elapsedTime % total;
+        if (target >= total) {
+            target -= total;
+        }
+
+        // first position whose track ends after the target, skipping zero-length tracks
+        int low = 0;
+        int high = size - 1;
+        while (low < high) {
+            int middle = (low + high) / 2;
+            if (prefix[middle + 1] > target) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+
+        if (shuffle) {
+            indexShuffled = low;
+            index = shuffleOrder[indexShuffled];
+        } else {
+            index = low;
+        }
+        updateAudioFile();
+        remainedDuration = audioFile.getDuration();
+        return target - prefix[low];
+    }
+
     /**
      * Sets prev audio file.
      *
@@ -155,7 +234,7 @@ public class PlayerSource {
                     if (indexShuffled > 0) {
                         indexShuffled--;
                     }
-                    index = indices.get(indexShuffled);
+                    index = shuffleOrder[indexShuffled];
                     updateAudioFile();
                     remainedDuration = audioFile.getDuration();
                 } else {
@@ -170,28 +249,37 @@ public class PlayerSource {
     }
 
     /**
-     * Generate shuffle order.
+     * Generate shuffle order. The swaps are the ones Collections.shuffle makes with the same
+     * random generator, so the order is the same as shuffling a list of the indices.
      *
      * @param seed the seed
      */
     public void generateShuffleOrder(final Integer seed) {
-        indices.clear();
+        int size = audioCollection.getNumberOfTracks();
         Random random = new Random(seed);
-        for (int i = 0; i < audioCollection.getNumberOfTracks(); i++) {
-            indices.add(i);
+        shuffleOrder = new int[size];
+        for (int i = 0; i < size; i++) {
+            shuffleOrder[i] = i;
+        }
+        for (int i = size; i > 1; i--) {
+            int j = random.nextInt(i);
+            int track = shuffleOrder[i - 1];
+            shuffleOrder[i - 1] = shuffleOrder[j];
+            shuffleOrder[j] = track;
+        }
+
+        shufflePositions = new int[size];
+        for (int i = 0; i < size; i++) {
+            shufflePositions[shuffleOrder[i]] = i;
         }
-        Collections.shuffle(indices, random);
     }
 
     /**
      * Update shuffle index.
      */
     public void updateShuffleIndex() {
-        for (int i = 0; i < indices.size(); i++) {
-            if (indices.get(i) == index) {
-                indexShuffled = i;
-                break;
-            }
+        if (index >= 0 && index < shufflePositions.length) {
+            indexShuffled = shufflePositions[index];
         }
     }
 
@@ -0,0 +1,57 @@
+package app.player;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The podcast bookmarks of a player, one per podcast name, oldest saved first. With a capacity
+ * set, saving past it forgets the oldest bookmark, and that podcast starts over when loaded.
+ */
+public final class PodcastBookmarks {
+    private final int capacity;
+    private final Map<String, PodcastBookmark> byName = new LinkedHashMap<>();
+
+    /**
+     * Instantiates a new PodcastBookmarks.
+     *
+     * @param capacity the maximum number of bookmarks kept, or 0 for no limit
+     */
+    public PodcastBookmarks(final int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Saves a bookmark, replacing the one of the same podcast.
+     *
+     * @param bookmark the bookmark
+     */
+    public void save(final PodcastBookmark bookmark) {
+        byName.remove(bookmark.getName());
+        byName.put(bookmark.getName(), bookmark);
+        if (capacity > 0 && byName.size() > capacity) {
+            Iterator<PodcastBookmark> oldest = byName.values().iterator();
+            oldest.next();
+            oldest.remove();
+        }
+    }
+
+    /**
+     * Gets the bookmark of a podcast.
+     *
+     * @param name the name of the podcast
+     * @return the bookmark, or null if there is none
+     */
+    public PodcastBookmark get(final String name) {
+        return byName.get(name);
+    }
+
+    /**
+     * Gets the number of bookmarks.
+     *
+     * @return the number of bookmarks
+     */
+    public int size() {
+        return byName.size();
+    }
+}
@@ -4,6 +4,7 @@ import app.audio.LibraryEntry;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Predicate;
 
 /**
  * The type Filter utils.
@@ -155,6 +156,55 @@ public final class FilterUtils {
         return filter(entries, entry -> entry.matchesCity(city));
     }
 
+    /**
+     * Builds the followers check, parsing the filter once instead of once per entry.
+     *
+     * @param followers the followers
+     * @return the check
+     */
+    public static Predicate<LibraryEntry> followersCriterion(final String followers) {
+        RangeFilter range = RangeFilter.tryParse(followers);
+        if (range == null) {
+            // an invalid filter still fails the way the per-entry check always did
+            return entry -> entry.matchesFollowers(followers);
+        }
+        return entry -> entry.matchesFollowers(range);
+    }
+
+    /**
+     * Keeps the first entries that match every criterion, in order. The criteria are checked
+     * one entry at a time, and the scan stops as soon as the limit is reached.
+     *
+     * @param entries  the entries
+     * @param criteria the criteria, checked in order
+     * @param limit    the maximum number of results
+     * @return the list
+     */
+    public static List<LibraryEntry> filterFirst(final Iterable<? extends LibraryEntry> entries,
+                                                 final List<Predicate<LibraryEntry>> criteria,
+                                                 final int limit) {
+        List<LibraryEntry> result = new ArrayList<>();
+        for (LibraryEntry entry : entries) {
+            if (result.size() >= limit) {
+                break;
+            }
+            if (matchesAll(entry, criteria)) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    private static boolean matchesAll(final LibraryEntry entry,
+                                      final List<Predicate<LibraryEntry>> criteria) {
+        for (Predicate<LibraryEntry> criterion : criteria) {
+            if (!criterion.test(entry)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private static List<LibraryEntry> filter(final List<LibraryEntry> entries,
                                              final FilterCriteria criteria) {
         List<LibraryEntry> result = new ArrayList<>();
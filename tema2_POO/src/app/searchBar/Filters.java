@@ -4,6 +4,7 @@ import fileio.input.FiltersInput;
 import lombok.Data;
 
 import java.util.ArrayList;
+import java.util.TreeSet;
 
 @Data
 public class Filters {
@@ -32,4 +33,42 @@ public class Filters {
         this.age = filters.getAge();
         this.city = filters.getCity();
     }
+
+    private Filters(final Filters filters) {
+        this.name = filters.getName();
+        this.album = filters.getAlbum();
+        this.tags = filters.getTags();
+        this.lyrics = filters.getLyrics();
+        this.genre = filters.getGenre();
+        this.releaseYear = filters.getReleaseYear();
+        this.artist = filters.getArtist();
+        this.owner = filters.getOwner();
+        this.followers = filters.getFollowers();
+        this.age = filters.getAge();
+        this.city = filters.getCity();
+    }
+
+    /**
+     * Gets a copy that matches exactly the same entries, with the name and lyrics lowercased
+     * and the tags lowercased, sorted and deduplicated, so equivalent searches compare equal.
+     *
+     * @return the normalized filters
+     */
+    public Filters normalized() {
+        Filters normalized = new Filters(this);
+        if (name != null) {
+            normalized.name = name.toLowerCase();
+        }
+        if (lyrics != null) {
+            normalized.lyrics = lyrics.toLowerCase();
+        }
+        if (tags != null) {
+            TreeSet<String> lowerCaseTags = new TreeSet<>();
+            for (String tag : tags) {
+                lowerCaseTags.add(tag.toLowerCase());
+            }
+            normalized.tags = new ArrayList<>(lowerCaseTags);
+        }
+        return normalized;
+    }
 }
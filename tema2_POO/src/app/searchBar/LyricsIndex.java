@@ -0,0 +1,207 @@
+package app.searchBar;
+
+import app.audio.Files.Song;
+import app.audio.LibraryEntry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Trigram index over the lowercased lyrics of the songs. A lyrics filter only has to check the
+ * songs that contain every trigram of the query, instead of lowercasing every song.
+ * Candidates come back in the order the songs were added. They still have to be checked with
+ * Song.matchesLyrics.
+ */
+public final class LyricsIndex {
+    private static final int GRAM = 3;
+    private static final int CHAR_BITS = 16;
+
+    private final Map<Long, Postings> grams = new HashMap<>();
+    private final Postings unindexed = new Postings();
+    private final SongOrdinals songs = new SongOrdinals();
+
+    /**
+     * Adds a song after all the others.
+     *
+     * @param song the song
+     */
+    public void add(final Song song) {
+        int ordinal = songs.add(song);
+        if (song.getLyrics() == null) {
+            // never ruled out, so the lyrics filter still sees it
+            unindexed.add(ordinal);
+            return;
+        }
+
+        String lyrics = song.getLyrics().toLowerCase();
+        for (int i = 0; i + GRAM <= lyrics.length(); i++) {
+            grams.computeIfAbsent(gram(lyrics, i), key -> new Postings()).add(ordinal);
+        }
+    }
+
+    /**
+     * Removes the first occurrence of a song, the same one List.remove would drop.
+     *
+     * @param song the song
+     */
+    public void remove(final Song song) {
+        // postings keep the ordinal, candidates skip it once the song is gone
+        songs.remove(song);
+    }
+
+    /**
+     * Removes every song.
+     */
+    public void clear() {
+        grams.clear();
+        unindexed.clear();
+        songs.clear();
+    }
+
+    /**
+     * Gets the songs that may contain the query, ignoring case, in the order they were added.
+     * Every song whose lyrics do contain it is among them. The postings are intersected as
+     * the result is iterated, so a caller that stops early only pays for the songs it took.
+     *
+     * @param query the query
+     * @return the candidate songs
+     */
+    public Iterable<LibraryEntry> candidates(final String query) {
+        String key = query.toLowerCase();
+        if (key.length() < GRAM) {
+            return songs.walk(() -> from -> from);
+        }
+
+        return songs.walk(() -> {
+            List<Postings> lists = new ArrayList<>();
+            for (int i = 0; i + GRAM <= key.length(); i++) {
+                Postings postings = grams.get(gram(key, i));
+                if (postings == null) {
+                    lists.clear();
+                    break;
+                }
+                lists.add(postings);
+            }
+            lists.sort(Comparator.comparingInt(postings -> postings.size));
+            return new Matches(lists, unindexed);
+        });
+    }
+
+    /**
+     * Gets an upper bound of the number of candidates for a query, without building them.
+     *
+     * @param query the query
+     * @return the estimate
+     */
+    public int estimate(final String query) {
+        String key = query.toLowerCase();
+        if (key.length() < GRAM) {
+            return songs.size();
+        }
+
+        int estimate = Integer.MAX_VALUE;
+        for (int i = 0; i + GRAM <= key.length(); i++) {
+            Postings postings = grams.get(gram(key, i));
+            estimate = Math.min(estimate, postings == null ? 0 : postings.size);
+        }
+        return estimate + unindexed.size;
+    }
+
+    private static long gram(final String text, final int start) {
+        long gram = 0;
+        for (int i = start; i < start + GRAM; i++) {
+            gram = (gram << CHAR_BITS) | text.charAt(i);
+        }
+        return gram;
+    }
+
+    /**
+     * The ordinals in every one of the postings, or in the unindexed ones, found one at a time.
+     * Calls have to come with increasing ordinals, so the cursors only move forward.
+     */
+    private static final class Matches implements IntUnaryOperator {
+        private final List<Postings> lists;
+        private final int[] cursors;
+        private final Postings extra;
+        private int extraCursor;
+
+        Matches(final List<Postings> lists, final Postings extra) {
+            this.lists = lists;
+            this.cursors = new int[lists.size()];
+            this.extra = extra;
+        }
+
+        @Override
+        public int applyAsInt(final int from) {
+            while (extraCursor < extra.size && extra.ordinals[extraCursor] < from) {
+                extraCursor++;
+            }
+            int indexed = nextIndexed(from);
+            int unindexed = extraCursor < extra.size ? extra.ordinals[extraCursor] : -1;
+            if (indexed < 0 || unindexed < 0) {
+                return Math.max(indexed, unindexed);
+            }
+            return Math.min(indexed, unindexed);
+        }
+
+        private int nextIndexed(final int from) {
+            if (lists.isEmpty()) {
+                return -1;
+            }
+
+            // the shortest list drives, the others are only advanced up to its ordinals
+            Postings driver = lists.get(0);
+            while (cursors[0] < driver.size) {
+                int candidate = driver.ordinals[cursors[0]];
+                if (candidate >= from && inOthers(candidate)) {
+                    return candidate;
+                }
+                cursors[0]++;
+            }
+            return -1;
+        }
+
+        private boolean inOthers(final int candidate) {
+            for (int k = 1; k < lists.size(); k++) {
+                Postings list = lists.get(k);
+                while (cursors[k] < list.size && list.ordinals[cursors[k]] < candidate) {
+                    cursors[k]++;
+                }
+                if (cursors[k] == list.size || list.ordinals[cursors[k]] != candidate) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Ordinals of the songs holding a trigram, in increasing order and without repeats.
+     */
+    private static final class Postings {
+        private static final int INITIAL_CAPACITY = 4;
+
+        private int[] ordinals = new int[INITIAL_CAPACITY];
+        private int size;
+
+        void add(final int ordinal) {
+            if (size > 0 && ordinals[size - 1] == ordinal) {
+                return;
+            }
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            ordinals[size++] = ordinal;
+        }
+
+        void clear() {
+            ordinals = new int[INITIAL_CAPACITY];
+            size = 0;
+        }
+    }
+}
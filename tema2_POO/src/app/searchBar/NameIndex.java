@@ -0,0 +1,164 @@
+package app.searchBar;
+
+import app.audio.LibraryEntry;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Entries sorted by their lowercased name, so a name prefix search only visits the entries
+ * that match. Entries are numbered as they are added, which keeps the results in the same
+ * order as the list the index mirrors.
+ *
+ * @param <T> the type of the entries
+ */
+public final class NameIndex<T extends LibraryEntry> {
+    private final TreeMap<String, TreeMap<Long, T>> byName = new TreeMap<>();
+    private final Map<T, Deque<Long>> positions = new IdentityHashMap<>();
+    private long next;
+
+    /**
+     * Adds an entry after all the others.
+     *
+     * @param entry the entry
+     */
+    public void add(final T entry) {
+        long position = next++;
+        byName.computeIfAbsent(entry.getName().toLowerCase(), name -> new TreeMap<>())
+              .put(position, entry);
+        positions.computeIfAbsent(entry, key -> new ArrayDeque<>()).addLast(position);
+    }
+
+    /**
+     * Removes the first occurrence of an entry, the same one List.remove would drop.
+     *
+     * @param entry the entry
+     */
+    public void remove(final T entry) {
+        Deque<Long> entryPositions = positions.get(entry);
+        if (entryPositions == null) {
+            return;
+        }
+
+        long position = entryPositions.removeFirst();
+        if (entryPositions.isEmpty()) {
+            positions.remove(entry);
+        }
+        String name = entry.getName().toLowerCase();
+        TreeMap<Long, T> bucket = byName.get(name);
+        bucket.remove(position);
+        if (bucket.isEmpty()) {
+            byName.remove(name);
+        }
+    }
+
+    /**
+     * Removes every entry.
+     */
+    public void clear() {
+        byName.clear();
+        positions.clear();
+    }
+
+    /**
+     * Counts the entries whose name starts with a prefix, ignoring case.
+     *
+     * @param prefix the prefix
+     * @return the count
+     */
+    public int count(final String prefix) {
+        String key = prefix.toLowerCase();
+        int count = 0;
+        for (Map.Entry<String, TreeMap<Long, T>> bucket : byName.tailMap(key, true).entrySet()) {
+            if (!bucket.getKey().startsWith(key)) {
+                break;
+            }
+            count += bucket.getValue().size();
+        }
+        return count;
+    }
+
+    /**
+     * Finds the entries whose name starts with a prefix, ignoring case, in the order they
+     * were added. Same result as LibraryEntry.matchesName over the whole list. The matching
+     * names are merged lazily by position, so a caller that stops early only pays for the
+     * entries it took, plus one step per matching name. The index must not change while the
+     * result is iterated.
+     *
+     * @param prefix the prefix
+     * @return the matching entries
+     */
+    public Iterable<LibraryEntry> find(final String prefix) {
+        String key = prefix.toLowerCase();
+        return () -> {
+            List<Cursor<T>> cursors = new ArrayList<>();
+            for (Map.Entry<String, TreeMap<Long, T>> bucket
+                    : byName.tailMap(key, true).entrySet()) {
+                if (!bucket.getKey().startsWith(key)) {
+                    break;
+                }
+                cursors.add(new Cursor<>(bucket.getValue().entrySet().iterator()));
+            }
+            return new MergeIterator<>(cursors);
+        };
+    }
+
+    /**
+     * The next entry of one name, ahead of the rest of its entries.
+     */
+    private static final class Cursor<T> {
+        private final Iterator<Map.Entry<Long, T>> rest;
+        private Map.Entry<Long, T> head;
+
+        Cursor(final Iterator<Map.Entry<Long, T>> rest) {
+            this.rest = rest;
+            this.head = rest.next();
+        }
+
+        boolean advance() {
+            head = rest.hasNext() ? rest.next() : null;
+            return head != null;
+        }
+    }
+
+    /**
+     * Merges the entries of several names by position.
+     */
+    private static final class MergeIterator<T extends LibraryEntry>
+            implements Iterator<LibraryEntry> {
+        private final PriorityQueue<Cursor<T>> cursors;
+
+        MergeIterator(final List<Cursor<T>> cursors) {
+            this.cursors = new PriorityQueue<>(Math.max(cursors.size(), 1),
+                    Comparator.comparingLong(cursor -> cursor.head.getKey()));
+            this.cursors.addAll(cursors);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !cursors.isEmpty();
+        }
+
+        @Override
+        public LibraryEntry next() {
+            Cursor<T> cursor = cursors.poll();
+            if (cursor == null) {
+                throw new NoSuchElementException();
+            }
+            T entry = cursor.head.getValue();
+            if (cursor.advance()) {
+                cursors.add(cursor);
+            }
+            return entry;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package app.searchBar;
+
+import app.audio.LibraryEntry;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * How a search runs: the entries it starts from and the checks each of them goes through, in
+ * order.
+ */
+@Getter
+public final class QueryPlan {
+    private final Iterable<? extends LibraryEntry> candidates;
+    private final List<Predicate<LibraryEntry>> criteria;
+    private final String description;
+
+    /**
+     * Instantiates a new Query plan.
+     *
+     * @param candidates  the entries to check
+     * @param criteria    the checks, in the order they run
+     * @param description a readable form of the plan
+     */
+    public QueryPlan(final Iterable<? extends LibraryEntry> candidates,
+                     final List<Predicate<LibraryEntry>> criteria,
+                     final String description) {
+        this.candidates = candidates;
+        this.criteria = criteria;
+        this.description = description;
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+}
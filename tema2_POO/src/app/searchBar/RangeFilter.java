@@ -0,0 +1,86 @@
+package app.searchBar;
+
+/**
+ * A numeric filter such as "<2000", ">10" or "5", parsed once into the closed range of the
+ * values it accepts.
+ */
+public final class RangeFilter {
+    private final long from;
+    private final long to;
+
+    private RangeFilter(final long from, final long to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Parses a filter.
+     *
+     * @param query the filter
+     * @return the range
+     * @throws NumberFormatException if the filter has no valid number
+     */
+    public static RangeFilter parse(final String query) {
+        if (query.startsWith("<")) {
+            return new RangeFilter(Integer.MIN_VALUE,
+                                   (long) Integer.parseInt(query.substring(1)) - 1);
+        } else if (query.startsWith(">")) {
+            return new RangeFilter((long) Integer.parseInt(query.substring(1)) + 1,
+                                   Integer.MAX_VALUE);
+        } else {
+            int value = Integer.parseInt(query);
+            return new RangeFilter(value, value);
+        }
+    }
+
+    /**
+     * Parses a filter, if it is valid.
+     *
+     * @param query the filter
+     * @return the range, or null if the filter has no valid number
+     */
+    public static RangeFilter tryParse(final String query) {
+        try {
+            return parse(query);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Tests a value.
+     *
+     * @param value the value
+     * @return whether the value is in the range
+     */
+    public boolean test(final int value) {
+        return value >= from && value <= to;
+    }
+
+    /**
+     * Is empty boolean.
+     *
+     * @return whether no value is in the range
+     */
+    public boolean isEmpty() {
+        return from > to;
+    }
+
+    /**
+     * Gets the smallest value in the range.
+     *
+     * @return the value
+     */
+    public int getFrom() {
+        return (int) from;
+    }
+
+    /**
+     * Gets the largest value in the range.
+     *
+     * @return the value
+     */
+    public int getTo() {
+        return (int) to;
+    }
+}
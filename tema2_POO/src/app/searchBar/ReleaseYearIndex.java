@@ -0,0 +1,104 @@
+package app.searchBar;
+
+import app.audio.Files.Song;
+import app.audio.LibraryEntry;
+
+import java.util.BitSet;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Songs sorted by release year, so a release year filter is a slice of the index instead of a
+ * scan. Results come back in the order the songs were added.
+ */
+public final class ReleaseYearIndex {
+    private final TreeMap<Integer, BitSet> years = new TreeMap<>();
+    private final BitSet undated = new BitSet();
+    private final SongOrdinals songs = new SongOrdinals();
+
+    /**
+     * Adds a song after all the others.
+     *
+     * @param song the song
+     */
+    public void add(final Song song) {
+        int ordinal = songs.add(song);
+        if (song.getReleaseYear() == null) {
+            // never ruled out, so the release year filter still sees it
+            undated.set(ordinal);
+            return;
+        }
+        years.computeIfAbsent(song.getReleaseYear(), key -> new BitSet()).set(ordinal);
+    }
+
+    /**
+     * Removes the first occurrence of a song, the same one List.remove would drop.
+     *
+     * @param song the song
+     */
+    public void remove(final Song song) {
+        int ordinal = songs.remove(song);
+        if (ordinal < 0) {
+            return;
+        }
+
+        if (song.getReleaseYear() == null) {
+            undated.clear(ordinal);
+            return;
+        }
+        BitSet bitmap = years.get(song.getReleaseYear());
+        bitmap.clear(ordinal);
+        if (bitmap.isEmpty()) {
+            years.remove(song.getReleaseYear());
+        }
+    }
+
+    /**
+     * Removes every song.
+     */
+    public void clear() {
+        years.clear();
+        undated.clear();
+        songs.clear();
+    }
+
+    /**
+     * Gets the songs released in a range, in the order they were added. Songs without a
+     * release year are included, so Song.matchesReleaseYear decides for them. The bitmaps
+     * are combined when the result is iterated, and the songs are only looked up as they are
+     * taken.
+     *
+     * @param range the range
+     * @return the songs
+     */
+    public Iterable<LibraryEntry> find(final RangeFilter range) {
+        return songs.walk(() -> {
+            BitSet matches = (BitSet) undated.clone();
+            for (BitSet bitmap : slice(range).values()) {
+                matches.or(bitmap);
+            }
+            return matches::nextSetBit;
+        });
+    }
+
+    /**
+     * Counts the songs find would return.
+     *
+     * @param range the range
+     * @return the count
+     */
+    public int count(final RangeFilter range) {
+        int count = undated.cardinality();
+        for (BitSet bitmap : slice(range).values()) {
+            count += bitmap.cardinality();
+        }
+        return count;
+    }
+
+    private NavigableMap<Integer, BitSet> slice(final RangeFilter range) {
+        if (range.isEmpty()) {
+            return new TreeMap<>();
+        }
+        return years.subMap(range.getFrom(), true, range.getTo(), true);
+    }
+}
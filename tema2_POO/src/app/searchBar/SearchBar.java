@@ -2,11 +2,13 @@ package app.searchBar;
 
 
 import app.Admin;
+import app.AdminContext;
 import app.audio.LibraryEntry;
 import lombok.Getter;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Predicate;
 
 import static app.searchBar.FilterUtils.*;
 
@@ -17,20 +19,39 @@ public final class SearchBar {
     private List<LibraryEntry> results;
     private final String user;
     private static final Integer MAX_RESULTS = 5;
+    /**
+     * Prints the plan of every song search to stderr, turned on with -Dsearch.explain=true.
+     */
+    private static final boolean EXPLAIN = Boolean.getBoolean("search.explain");
     @Getter
     private String lastSearchType;
 
     @Getter
     private LibraryEntry lastSelected;
 
+    private final AdminContext admin;
+    @Getter
+    private final SearchCache cache = new SearchCache();
+
     /**
-     * Instantiates a new Search bar.
+     * Instantiates a new Search bar on the context of the current thread.
      *
      * @param user the user
      */
     public SearchBar(final String user) {
+        this(Admin.getContext(), user);
+    }
+
+    /**
+     * Instantiates a new Search bar.
+     *
+     * @param admin the context to search in
+     * @param user  the user
+     */
+    public SearchBar(final AdminContext admin, final String user) {
         this.results = new ArrayList<>();
         this.user = user;
+        this.admin = admin;
     }
 
     /**
@@ -49,116 +70,106 @@ public final class SearchBar {
      * @return the list
      */
     public List<LibraryEntry> search(final Filters filters, final String type) {
-        List<LibraryEntry> entries;
-
-        switch (type) {
-            case "song":
-                entries = new ArrayList<>(Admin.getSongs());
-
-                if (filters.getName() != null) {
-                    entries = filterByName(entries, filters.getName());
-                }
-
-                if (filters.getAlbum() != null) {
-                    entries = filterByAlbum(entries, filters.getAlbum());
-                }
-
-                if (filters.getTags() != null) {
-                    entries = filterByTags(entries, filters.getTags());
-                }
-
-                if (filters.getLyrics() != null) {
-                    entries = filterByLyrics(entries, filters.getLyrics());
-                }
+        List<LibraryEntry> entries = cache.get(admin.getCatalogueVersion(), type, filters);
+        if (entries == null) {
+            entries = runSearch(filters, type);
+            cache.put(type, filters, entries);
+        }
 
-                if (filters.getGenre() != null) {
-                    entries = filterByGenre(entries, filters.getGenre());
-                }
+        this.results = new ArrayList<>(entries);
+        this.lastSearchType = type;
+        return this.results;
+    }
 
-                if (filters.getReleaseYear() != null) {
-                    entries = filterByReleaseYear(entries, filters.getReleaseYear());
-                }
+    private List<LibraryEntry> runSearch(final Filters filters, final String type) {
+        Iterable<? extends LibraryEntry> entries;
+        List<Predicate<LibraryEntry>> criteria = new ArrayList<>();
 
-                if (filters.getArtist() != null) {
-                    entries = filterByArtist(entries, filters.getArtist());
+        switch (type) {
+            case "song":
+                QueryPlan plan = admin.planSongSearch(filters);
+                if (EXPLAIN) {
+                    System.err.println(user + ": " + plan);
                 }
 
+                entries = plan.getCandidates();
+                criteria.addAll(plan.getCriteria());
                 break;
             case "playlist":
-                entries = new ArrayList<>(Admin.getPlaylists());
+                entries = admin.getPlaylists();
 
-                entries = filterByPlaylistVisibility(entries, user);
+                criteria.add(entry -> entry.isVisibleToUser(user));
 
                 if (filters.getName() != null) {
-                    entries = filterByName(entries, filters.getName());
+                    criteria.add(entry -> entry.matchesName(filters.getName()));
                 }
 
                 if (filters.getOwner() != null) {
-                    entries = filterByOwner(entries, filters.getOwner());
+                    criteria.add(entry -> entry.matchesOwner(filters.getOwner()));
                 }
 
                 if (filters.getFollowers() != null) {
-                    entries = filterByFollowers(entries, filters.getFollowers());
+                    criteria.add(followersCriterion(filters.getFollowers()));
                 }
 
                 break;
             case "podcast":
-                entries = new ArrayList<>(Admin.getPodcasts());
-
                 if (filters.getName() != null) {
-                    entries = filterByName(entries, filters.getName());
+                    entries = admin.getPodcastsByName(filters.getName());
+                } else {
+                    entries = admin.getPodcasts();
                 }
 
                 if (filters.getOwner() != null) {
-                    entries = filterByOwner(entries, filters.getOwner());
+                    criteria.add(entry -> entry.matchesOwner(filters.getOwner()));
                 }
 
                 break;
             case "artist":
-                entries = new ArrayList<>(Admin.getArtists());
-
                 if (filters.getName() != null) {
-                    entries = filterByName(entries, filters.getName());
+                    entries = admin.getArtistsByName(filters.getName());
+                } else {
+                    entries = admin.getArtists();
                 }
 
                 if (filters.getAge() != null) {
-                    entries = filterByAge(entries, filters.getAge());
+                    criteria.add(entry -> entry.matchesAge(filters.getAge()));
                 }
 
                 if (filters.getCity() != null) {
-                    entries = filterByCity(entries, filters.getCity());
+                    criteria.add(entry -> entry.matchesCity(filters.getCity()));
                 }
 
                 break;
             case "album":
-                entries = new ArrayList<>(Admin.getAlbums());
-
                 if (filters.getName() != null) {
-                    entries = filterByName(entries, filters.getName());
+                    entries = admin.getAlbumsByName(filters.getName());
+                } else {
+                    entries = admin.getAlbums();
                 }
 
                 if (filters.getOwner() != null) {
-                    entries = filterByOwner(entries, filters.getOwner());
+                    criteria.add(entry -> entry.matchesOwner(filters.getOwner()));
                 }
 
                 if (filters.getFollowers() != null) {
-                    entries = filterByFollowers(entries, filters.getFollowers());
+                    criteria.add(followersCriterion(filters.getFollowers()));
                 }
 
                 break;
             case "host":
-                entries = new ArrayList<>(Admin.getHosts());
-
                 if (filters.getName() != null) {
-                    entries = filterByName(entries, filters.getName());
+                    entries = admin.getHostsByName(filters.getName());
+                } else {
+                    entries = admin.getHosts();
                 }
 
                 if (filters.getAge() != null) {
-                    entries = filterByAge(entries, filters.getAge());
+                    criteria.add(entry -> entry.matchesAge(filters.getAge()));
                 }
 
                 if (filters.getCity() != null) {
-                    entries = filterByCity(entries, filters.getCity());
+                    criteria.add(entry -> entry.matchesCity(filters.getCity()));
                 }
 
                 break;
@@ -166,13 +177,7 @@ public final class SearchBar {
                 entries = new ArrayList<>();
         }
 
-        while (entries.size() > MAX_RESULTS) {
-            entries.remove(entries.size() - 1);
-        }
-
-        this.results = entries;
-        this.lastSearchType = type;
-        return this.results;
+        return filterFirst(entries, criteria, MAX_RESULTS);
     }
 
     /**
@@ -0,0 +1,78 @@
+package app.searchBar;
+
+import app.audio.LibraryEntry;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The last search results of one user, keyed by the search type and the normalized filters.
+ * The user is fixed, so playlist visibility is part of the key implicitly. Everything is
+ * dropped when the catalogue version changes.
+ */
+public final class SearchCache {
+    private static final int CAPACITY = 32;
+
+    private final Map<Key, List<LibraryEntry>> results =
+            new LinkedHashMap<>(CAPACITY, 1, true) {
+                @Override
+                protected boolean removeEldestEntry(
+                        final Map.Entry<Key, List<LibraryEntry>> eldest) {
+                    return size() > CAPACITY;
+                }
+            };
+    private long version = -1;
+    @Getter
+    private int hits;
+    @Getter
+    private int misses;
+
+    /**
+     * Gets the cached results of a search.
+     *
+     * @param catalogueVersion the current catalogue version
+     * @param type             the type
+     * @param filters          the filters
+     * @return the results, or null if the search has to run
+     */
+    public List<LibraryEntry> get(final long catalogueVersion, final String type,
+                                  final Filters filters) {
+        if (catalogueVersion != version) {
+            results.clear();
+            version = catalogueVersion;
+        }
+
+        List<LibraryEntry> cached = results.get(new Key(type, filters.normalized()));
+        if (cached == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return cached;
+    }
+
+    /**
+     * Caches the results of a search, for the version passed to the last get.
+     *
+     * @param type    the type
+     * @param filters the filters
+     * @param entries the results
+     */
+    public void put(final String type, final Filters filters, final List<LibraryEntry> entries) {
+        results.put(new Key(type, filters.normalized()), List.copyOf(entries));
+    }
+
+    @EqualsAndHashCode
+    private static final class Key {
+        private final String type;
+        private final Filters filters;
+
+        Key(final String type, final Filters filters) {
+            this.type = type;
+            this.filters = filters;
+        }
+    }
+}
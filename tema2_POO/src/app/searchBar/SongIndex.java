@@ -0,0 +1,194 @@
+package app.searchBar;
+
+import app.audio.Files.Song;
+import app.audio.LibraryEntry;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * All the indexes and statistics kept over the songs, and the planner that uses them. A song
+ * search starts from the index leaving the fewest songs, then runs the remaining filters
+ * cheapest and most selective first.
+ */
+public final class SongIndex {
+    private static final int CHEAP_COST = 1;
+    private static final int NAME_COST = 2;
+    private static final int RELEASE_YEAR_COST = 2;
+    private static final int TAGS_COST = 4;
+    private static final int LYRICS_COST = 16;
+
+    private final NameIndex<Song> names = new NameIndex<>();
+    private final LyricsIndex lyrics = new LyricsIndex();
+    private final TagIndex tags = new TagIndex();
+    private final ReleaseYearIndex releaseYears = new ReleaseYearIndex();
+    private final SongStatistics statistics = new SongStatistics();
+
+    /**
+     * Adds a song after all the others.
+     *
+     * @param song the song
+     */
+    public void add(final Song song) {
+        names.add(song);
+        lyrics.add(song);
+        tags.add(song);
+        releaseYears.add(song);
+        statistics.add(song);
+    }
+
+    /**
+     * Removes the first occurrence of a song, which has to be in the index.
+     *
+     * @param song the song
+     */
+    public void remove(final Song song) {
+        names.remove(song);
+        lyrics.remove(song);
+        tags.remove(song);
+        releaseYears.remove(song);
+        statistics.remove(song);
+    }
+
+    /**
+     * Removes every song.
+     */
+    public void clear() {
+        names.clear();
+        lyrics.clear();
+        tags.clear();
+        releaseYears.clear();
+        statistics.clear();
+    }
+
+    /**
+     * Plans a song search.
+     *
+     * @param filters the filters
+     * @param songs   every song, in library order, for plans that use no index
+     * @return the plan
+     */
+    public QueryPlan plan(final Filters filters, final List<Song> songs) {
+        List<Step> steps = new ArrayList<>();
+        if (filters.getName() != null) {
+            String name = filters.getName();
+            steps.add(new Step("name", names.count(name), NAME_COST,
+                               entry -> entry.matchesName(name), () -> names.find(name), true));
+        }
+        if (filters.getAlbum() != null) {
+            String album = filters.getAlbum();
+            steps.add(new Step("album", statistics.countAlbum(album), CHEAP_COST,
+                               entry -> entry.matchesAlbum(album)));
+        }
+        if (filters.getTags() != null) {
+            ArrayList<String> tagList = filters.getTags();
+            // songs without tags are candidates too, so the check stays
+            steps.add(new Step("tags", tags.count(tagList), TAGS_COST,
+                               entry -> entry.matchesTags(tagList), () -> tags.find(tagList),
+                               false));
+        }
+        if (filters.getLyrics() != null) {
+            String query = filters.getLyrics();
+            steps.add(new Step("lyrics", lyrics.estimate(query), LYRICS_COST,
+                               entry -> entry.matchesLyrics(query),
+                               () -> lyrics.candidates(query), false));
+        }
+        if (filters.getGenre() != null) {
+            String genre = filters.getGenre();
+            steps.add(new Step("genre", statistics.countGenre(genre), CHEAP_COST,
+                               entry -> entry.matchesGenre(genre)));
+        }
+        if (filters.getReleaseYear() != null) {
+            String releaseYear = filters.getReleaseYear();
+            RangeFilter range = RangeFilter.tryParse(releaseYear);
+            if (range == null) {
+                // an invalid filter still fails the way the per-entry check always did
+                steps.add(new Step("releaseYear", statistics.size(), RELEASE_YEAR_COST,
+                                   entry -> entry.matchesReleaseYear(releaseYear)));
+            } else {
+                // songs without a release year are candidates too, so the check stays
+                steps.add(new Step("releaseYear", releaseYears.count(range), CHEAP_COST,
+                                   entry -> entry.matchesReleaseYear(range),
+                                   () -> releaseYears.find(range), false));
+            }
+        }
+        if (filters.getArtist() != null) {
+            String artist = filters.getArtist();
+            steps.add(new Step("artist", statistics.countArtist(artist), CHEAP_COST,
+                               entry -> entry.matchesArtist(artist)));
+        }
+
+        Step source = null;
+        for (Step step : steps) {
+            if (step.lookup != null && (source == null || step.estimate < source.estimate)) {
+                source = step;
+            }
+        }
+
+        Iterable<? extends LibraryEntry> candidates = songs;
+        StringBuilder description = new StringBuilder("song search over ");
+        if (source == null) {
+            description.append("all ").append(statistics.size()).append(" songs");
+        } else {
+            candidates = source.lookup.get();
+            description.append(source.field).append(" index (~").append(source.estimate)
+                       .append(" of ").append(statistics.size()).append(" songs)");
+            if (source.exact) {
+                steps.remove(source);
+            }
+        }
+
+        int total = Math.max(statistics.size(), 1);
+        steps.sort(Comparator.comparingDouble(step -> step.rank(total)));
+        List<Predicate<LibraryEntry>> criteria = new ArrayList<>();
+        for (int i = 0; i < steps.size(); i++) {
+            Step step = steps.get(i);
+            criteria.add(step.test);
+            description.append(i == 0 ? ", then " : ", ").append(step.field)
+                       .append(" (~").append(step.estimate).append(")");
+        }
+        return new QueryPlan(candidates, criteria, description.toString());
+    }
+
+    /**
+     * One filter of a song search, with what it is expected to keep and to cost.
+     */
+    private static final class Step {
+        private final String field;
+        private final int estimate;
+        private final int cost;
+        private final Predicate<LibraryEntry> test;
+        private final Supplier<Iterable<LibraryEntry>> lookup;
+        private final boolean exact;
+
+        Step(final String field, final int estimate, final int cost,
+             final Predicate<LibraryEntry> test) {
+            this(field, estimate, cost, test, null, false);
+        }
+
+        Step(final String field, final int estimate, final int cost,
+             final Predicate<LibraryEntry> test, final Supplier<Iterable<LibraryEntry>> lookup,
+             final boolean exact) {
+            this.field = field;
+            this.estimate = estimate;
+            this.cost = cost;
+            this.test = test;
+            this.lookup = lookup;
+            this.exact = exact;
+        }
+
+        /**
+         * Cost paid per song this filter rules out; lower runs first.
+         */
+        double rank(final int total) {
+            double selectivity = Math.min((double) estimate / total, 1);
+            if (selectivity >= 1) {
+                return Double.POSITIVE_INFINITY;
+            }
+            return cost / (1 - selectivity);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package app.searchBar;
+
+import app.audio.Files.Song;
+import app.audio.LibraryEntry;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Numbers songs in the order they are added, which is also their order in the library. The
+ * song indexes store these ordinals instead of the songs themselves.
+ */
+final class SongOrdinals {
+    private final List<Song> songs = new ArrayList<>();
+    private final Map<Song, Deque<Integer>> ordinals = new IdentityHashMap<>();
+
+    /**
+     * Adds a song after all the others.
+     *
+     * @param song the song
+     * @return the ordinal of the song
+     */
+    int add(final Song song) {
+        int ordinal = songs.size();
+        songs.add(song);
+        ordinals.computeIfAbsent(song, key -> new ArrayDeque<>()).addLast(ordinal);
+        return ordinal;
+    }
+
+    /**
+     * Removes the first occurrence of a song, the same one List.remove would drop. Its ordinal
+     * is not reused.
+     *
+     * @param song the song
+     * @return the ordinal the song had, or -1 if it was not there
+     */
+    int remove(final Song song) {
+        Deque<Integer> songOrdinals = ordinals.get(song);
+        if (songOrdinals == null) {
+            return -1;
+        }
+
+        int ordinal = songOrdinals.removeFirst();
+        if (songOrdinals.isEmpty()) {
+            ordinals.remove(song);
+        }
+        songs.set(ordinal, null);
+        return ordinal;
+    }
+
+    /**
+     * Gets the song with an ordinal.
+     *
+     * @param ordinal the ordinal
+     * @return the song, or null if it was removed
+     */
+    Song get(final int ordinal) {
+        return songs.get(ordinal);
+    }
+
+    /**
+     * Gets the number of ordinals handed out so far.
+     *
+     * @return the size
+     */
+    int size() {
+        return songs.size();
+    }
+
+    /**
+     * Forgets every song.
+     */
+    void clear() {
+        songs.clear();
+        ordinals.clear();
+    }
+
+    /**
+     * Walks the songs whose ordinals a search yields, in increasing order, skipping the removed
+     * ones. Nothing is built up front: each step asks the search for the next ordinal, so a
+     * caller that stops early stops the search too.
+     *
+     * @param search creates, for every walk, a function giving the first matching ordinal at or
+     *               after the one passed, or -1 if there is none
+     * @return the songs
+     */
+    Iterable<LibraryEntry> walk(final Supplier<IntUnaryOperator> search) {
+        return () -> new Walk(search.get());
+    }
+
+    /**
+     * One walk over the songs a search yields.
+     */
+    private final class Walk implements Iterator<LibraryEntry> {
+        private final IntUnaryOperator search;
+        private Song song;
+        private int from;
+
+        Walk(final IntUnaryOperator search) {
+            this.search = search;
+            findNext();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return song != null;
+        }
+
+        @Override
+        public LibraryEntry next() {
+            if (song == null) {
+                throw new NoSuchElementException();
+            }
+            Song current = song;
+            findNext();
+            return current;
+        }
+
+        private void findNext() {
+            song = null;
+            while (song == null && from < songs.size()) {
+                int ordinal = search.applyAsInt(from);
+                if (ordinal < 0 || ordinal >= songs.size()) {
+                    return;
+                }
+                song = songs.get(ordinal);
+                from = ordinal + 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package app.searchBar;
+
+import app.audio.Files.Song;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts of the songs per genre, artist and album, used to estimate how many songs a filter
+ * keeps.
+ */
+public final class SongStatistics {
+    private final Map<String, Integer> genres = new HashMap<>();
+    private final Map<String, Integer> artists = new HashMap<>();
+    private final Map<String, Integer> albums = new HashMap<>();
+    private int size;
+
+    /**
+     * Counts a song.
+     *
+     * @param song the song
+     */
+    public void add(final Song song) {
+        size++;
+        count(genres, song.getGenre(), 1);
+        count(artists, song.getArtist(), 1);
+        count(albums, song.getAlbum(), 1);
+    }
+
+    /**
+     * Stops counting a song.
+     *
+     * @param song the song
+     */
+    public void remove(final Song song) {
+        size--;
+        count(genres, song.getGenre(), -1);
+        count(artists, song.getArtist(), -1);
+        count(albums, song.getAlbum(), -1);
+    }
+
+    /**
+     * Forgets every song.
+     */
+    public void clear() {
+        genres.clear();
+        artists.clear();
+        albums.clear();
+        size = 0;
+    }
+
+    /**
+     * Gets the number of songs counted.
+     *
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of songs of a genre, ignoring case.
+     *
+     * @param genre the genre
+     * @return the count
+     */
+    public int countGenre(final String genre) {
+        return genres.getOrDefault(genre.toLowerCase(), 0);
+    }
+
+    /**
+     * Gets the number of songs of an artist, ignoring case.
+     *
+     * @param artist the artist
+     * @return the count
+     */
+    public int countArtist(final String artist) {
+        return artists.getOrDefault(artist.toLowerCase(), 0);
+    }
+
+    /**
+     * Gets the number of songs on an album, ignoring case.
+     *
+     * @param album the album
+     * @return the count
+     */
+    public int countAlbum(final String album) {
+        return albums.getOrDefault(album.toLowerCase(), 0);
+    }
+
+    private static void count(final Map<String, Integer> counts, final String key,
+                              final int delta) {
+        if (key == null) {
+            return;
+        }
+        String lowerCaseKey = key.toLowerCase();
+        counts.merge(lowerCaseKey, delta, Integer::sum);
+        counts.remove(lowerCaseKey, 0);
+    }
+}
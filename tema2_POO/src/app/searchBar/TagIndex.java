@@ -0,0 +1,114 @@
+package app.searchBar;
+
+import app.audio.Files.Song;
+import app.audio.LibraryEntry;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps every lowercased tag to the bitmap of the songs carrying it, so a tags filter is the
+ * intersection of one bitmap per query tag. Results come back in the order the songs were
+ * added.
+ */
+public final class TagIndex {
+    private final Map<String, BitSet> tags = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private final BitSet untagged = new BitSet();
+    private final SongOrdinals songs = new SongOrdinals();
+
+    /**
+     * Adds a song after all the others.
+     *
+     * @param song the song
+     */
+    public void add(final Song song) {
+        int ordinal = songs.add(song);
+        live.set(ordinal);
+        if (song.getTags() == null) {
+            // never ruled out, so the tags filter still sees it
+            untagged.set(ordinal);
+            return;
+        }
+
+        for (String tag : song.getTags()) {
+            tags.computeIfAbsent(tag.toLowerCase(), key -> new BitSet()).set(ordinal);
+        }
+    }
+
+    /**
+     * Removes the first occurrence of a song, the same one List.remove would drop.
+     *
+     * @param song the song
+     */
+    public void remove(final Song song) {
+        int ordinal = songs.remove(song);
+        if (ordinal < 0) {
+            return;
+        }
+
+        live.clear(ordinal);
+        untagged.clear(ordinal);
+        if (song.getTags() != null) {
+            for (String tag : song.getTags()) {
+                BitSet bitmap = tags.get(tag.toLowerCase());
+                if (bitmap == null) {
+                    continue;
+                }
+                bitmap.clear(ordinal);
+                if (bitmap.isEmpty()) {
+                    tags.remove(tag.toLowerCase());
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes every song.
+     */
+    public void clear() {
+        tags.clear();
+        live.clear();
+        untagged.clear();
+        songs.clear();
+    }
+
+    /**
+     * Gets the songs carrying every one of the tags, ignoring case, in the order they were
+     * added. Songs without a tag list are included, so Song.matchesTags decides for them.
+     * The bitmaps are combined when the result is iterated, and the songs are only looked up
+     * as they are taken.
+     *
+     * @param queryTags the tags
+     * @return the songs
+     */
+    public Iterable<LibraryEntry> find(final List<String> queryTags) {
+        return songs.walk(() -> matches(queryTags)::nextSetBit);
+    }
+
+    /**
+     * Counts the songs find would return.
+     *
+     * @param queryTags the tags
+     * @return the count
+     */
+    public int count(final List<String> queryTags) {
+        return matches(queryTags).cardinality();
+    }
+
+    private BitSet matches(final List<String> queryTags) {
+        BitSet matches = (BitSet) live.clone();
+        for (String tag : queryTags) {
+            BitSet bitmap = tags.get(tag.toLowerCase());
+            if (bitmap == null) {
+                matches.clear();
+                break;
+            }
+            matches.and(bitmap);
+        }
+        matches.or(untagged);
+        return matches;
+    }
+}
@@ -1,9 +1,9 @@
 package app.user;
 
 import app.Admin;
+import app.AdminContext;
 import app.audio.Collections.*;
 import app.audio.Files.AudioFile;
-import app.audio.Files.Episode;
 import app.audio.Files.Song;
 import app.audio.LibraryEntry;
 import app.player.Player;
@@ -46,15 +46,31 @@ public class User {
     private String type;
     @Getter
     private ArrayList<String> podcastsVisited = new ArrayList<>();
+    private int lastTimestamp;
+    private final AdminContext admin;
 
     /**
-     * Instantiates a new User.
+     * Instantiates a new User on the context of the current thread.
      *
      * @param username the username
      * @param age      the age
      * @param city     the city
      */
     public User(final String username, final int age, final String city) {
+        this(Admin.getContext(), username, age, city);
+    }
+
+    /**
+     * Instantiates a new User.
+     *
+     * @param admin    the context the user belongs to
+     * @param username the username
+     * @param age      the age
+     * @param city     the city
+     */
+    public User(final AdminContext admin, final String username, final int age,
+                final String city) {
+        this.admin = admin;
         this.username = username;
         this.age = age;
         this.city = city;
@@ -62,7 +78,7 @@ public class User {
         likedSongs = new ArrayList<>();
         followedPlaylists = new ArrayList<>();
         player = new Player();
-        searchBar = new SearchBar(username);
+        searchBar = new SearchBar(admin, username);
         lastSearched = false;
         connectionStatus = true;
         type = "user";
@@ -79,6 +95,7 @@ public class User {
     public ArrayList<String> search(final Filters filters, final String type) {
         searchBar.clearSelection();
         player.stop();
+        playerChanged();
 
         lastSearched = true;
         ArrayList<String> results = new ArrayList<>();
@@ -108,15 +125,15 @@ public class User {
         if (selected == null) {
             return "The selected ID is too high.";
         }
-        for (Artist artist : Admin.getArtists()) {
+        for (Artist artist : admin.getArtists()) {
             if (selected.getName().equals(artist.getName())) {
-                selectedSearch = selected.getName();
+                selectPage(selected.getName());
                 return "Successfully selected %s's page.".formatted(selected.getName());
             }
         }
-        for (Host host : Admin.getHosts()) {
+        for (Host host : admin.getHosts()) {
             if (selected.getName().equals(host.getName())) {
-                selectedSearch = selected.getName();
+                selectPage(selected.getName());
                 return "Successfully selected %s's page.".formatted(selected.getName());
             }
         }
@@ -139,8 +156,10 @@ public class User {
         }
         if (searchBar.getLastSearchType().equals("podcast")) {
             podcastsVisited.add(searchBar.getLastSelected().getName());
+            admin.getReferences().visited(this, searchBar.getLastSelected().getName());
         }
         player.setSource(searchBar.getLastSelected(), searchBar.getLastSearchType());
+        playerChanged();
         searchBar.clearSelection();
 
         player.pause();
@@ -220,6 +239,7 @@ public class User {
         }
 
         player.shuffle(seed);
+        playerChanged();
 
         if (player.getShuffle()) {
             return "Shuffle function activated successfully.";
@@ -242,6 +262,7 @@ public class User {
         }
 
         player.skipNext();
+        playerChanged();
 
         return "Skipped forward successfully.";
     }
@@ -261,6 +282,7 @@ public class User {
         }
 
         player.skipPrev();
+        playerChanged();
 
         return "Rewound successfully.";
     }
@@ -284,13 +306,17 @@ public class User {
 
         if (likedSongs.contains(song)) {
             likedSongs.remove(song);
+            admin.getReferences().unliked(this, song);
             song.dislike();
+            admin.likesChanged(song, -1);
 
             return "Unlike registered successfully.";
         }
 
         likedSongs.add(song);
+        admin.getReferences().liked(this, song);
         song.like();
+        admin.likesChanged(song, 1);
         return "Like registered successfully.";
     }
 
@@ -305,6 +331,7 @@ public class User {
         }
 
         player.next();
+        playerChanged();
 
         if (player.getCurrentAudioFile() == null) {
             return "Please load a source before skipping to the next track.";
@@ -325,6 +352,7 @@ public class User {
         }
 
         player.prev();
+        playerChanged();
 
         return "Returned to previous track successfully. The current track is %s."
                 .formatted(player.getCurrentAudioFile().getName());
@@ -342,7 +370,10 @@ public class User {
             return "A playlist with the same name already exists.";
         }
 
-        playlists.add(new Playlist(name, username, timestamp));
+        Playlist playlist = new Playlist(name, username, timestamp);
+        playlists.add(playlist);
+        admin.playlistAdded(this, playlist);
+        admin.getReferences().playlistCreated(this, playlist);
 
         return "Playlist created successfully.";
     }
@@ -370,10 +401,12 @@ public class User {
 
         if (playlist.containsSong((Song) player.getCurrentAudioFile())) {
             playlist.removeSong((Song) player.getCurrentAudioFile());
+            admin.getReferences().songRemoved(playlist, (Song) player.getCurrentAudioFile());
             return "Successfully removed from playlist.";
         }
 
         playlist.addSong((Song) player.getCurrentAudioFile());
+        admin.getReferences().songAdded(playlist, (Song) player.getCurrentAudioFile());
         return "Successfully added to playlist.";
     }
 
@@ -390,6 +423,7 @@ public class User {
 
         Playlist playlist = playlists.get(playlistId - 1);
         playlist.switchVisibility();
+        admin.catalogueChanged();
 
         if (playlist.getVisibility() == Enums.Visibility.PUBLIC) {
             return "Visibility status updated successfully to public.";
@@ -437,14 +471,17 @@ public class User {
 
         if (followedPlaylists.contains(playlist)) {
             followedPlaylists.remove(playlist);
+            admin.getReferences().unfollowed(this, playlist);
             playlist.decreaseFollowers();
+            admin.followersChanged(playlist);
 
             return "Playlist unfollowed successfully.";
         }
 
         followedPlaylists.add(playlist);
+        admin.getReferences().followed(this, playlist);
         playlist.increaseFollowers();
-
+        admin.followersChanged(playlist);
 
         return "Playlist followed successfully.";
     }
@@ -517,137 +554,34 @@ public class User {
     }
 
     /**
-     * Checks if there is interaction between user and deluser
+     * Checks if the player is on a playlist track named like a song in one of the user's own
+     * playlists.
+     *
+     * @return the boolean
      */
-    public boolean checkInteraction(final User deluser) {
-        for (User user : Admin.getAllUsers()) {
-            for (Podcast podcast : Admin.getPodcasts()) {
-                if (podcast.getOwner().equals(deluser.getUsername())) {
-                    for (String visited : user.getPodcastsVisited()) {
-                        if (visited.equals(podcast.getName())) {
-                            return true;
-                        }
-                    }
-                }
-            }
+    public boolean isPlayingOwnPlaylistSong() {
+        if (!"playlist".equals(player.getType()) || player.getCurrentAudioFile() == null) {
+            return false;
         }
         for (Playlist playlist : playlists) {
-            for (Song songplaylist : playlist.getSongs()) {
-                if (songplaylist.getArtist().equals(deluser.getUsername())) {
+            for (Song song : playlist.getSongs()) {
+                if (player.getCurrentAudioFile().getName().equals(song.getName())) {
                     return true;
                 }
             }
         }
-        if (selectedSearch.equals(deluser.getUsername())) {
-            return true;
-        }
-        if (player.getType() != null && player.getCurrentAudioFile() != null) {
-            if (player.getType().equals("podcast")) {
-                for (Podcast podcast : Admin.getPodcasts()) {
-                    if (podcast.getOwner().equals(deluser.getUsername())) {
-                        for (String visited : podcastsVisited) {
-                            if (visited.equals(podcast.getName())) {
-                                return true;
-                            }
-                        }
-                        for (Episode episode : podcast.getEpisodes()) {
-                            if (player.getCurrentAudioFile().getName().equals(episode.getName())) {
-                                return true;
-                            }
-                        }
-                    }
-                }
-            }
-            if (player.getType().equals("playlist")) {
-                for (Playlist playlist : deluser.getPlaylists()) {
-                    for (Song song : playlist.getSongs()) {
-                        if (player.getCurrentAudioFile().getName().equals(song.getName())) {
-                            return true;
-                        }
-                    }
-                }
-            }
-            if (player.getType().equals("album")) {
-                for (Album album : Admin.getAlbums()) {
-                    if (album.getOwner().equals(deluser.getUsername())) {
-                        for (Song song : album.getSongs()) {
-                            if (player.getCurrentAudioFile().getName().equals(song.getName())) {
-                                return true;
-                            }
-                        }
-                    }
-                }
-            }
-            if (player.getType().equals("song")) {
-                for (Song song : Admin.getSongs()) {
-                    if (player.getCurrentAudioFile().getName().equals(song.getName())
-                            && song.getArtist().equals(deluser.getUsername())) {
-                        return true;
-                    }
-                }
-            }
-        }
         return false;
     }
 
-    /**
-     * Checks if the album can be deleted
-     */
-    public boolean checkLoadedAlbum(final String name) {
-        if (player.getType() != null && player.getCurrentAudioFile() != null) {
-            if (player.getType().equals("playlist")) {
-                for (Playlist playlist : playlists) {
-                    for (Song song : playlist.getSongs()) {
-                        if (player.getCurrentAudioFile().getName().equals(song.getName())) {
-                            return true;
-                        }
-                    }
-                }
-            }
-            if (player.getType().equals("song") || player.getType().equals("album")) {
-                for (Album album : Admin.getAlbums()) {
-                    if (album.getName().equals(name)) {
-                        for (Song song : album.getSongs()) {
-                            if (player.getCurrentAudioFile().getName().equals(song.getName())) {
-                                return true;
-                            }
-                        }
-                    }
-                }
-            }
-        }
-        return false;
+    private void playerChanged() {
+        AudioFile track = player.getCurrentAudioFile();
+        admin.getReferences().playerChanged(this, player.getType(),
+                                            track == null ? null : track.getName());
     }
 
-    /**
-     * Checks if a podcast can be deleted
-     */
-    public boolean checkLoadedPodcast(final String name) {
-        for (User user : Admin.getAllUsers()) {
-            for (Podcast podcast : Admin.getPodcasts()) {
-                if (podcast.getName().equals(name)) {
-                    for (String visited : user.getPodcastsVisited()) {
-                        if (visited.equals(podcast.getName())) {
-                            return true;
-                        }
-                    }
-                }
-            }
-        }
-        if (player.getType() != null && player.getCurrentAudioFile() != null) {
-            if (player.getType().equals("podcast")) {
-                for (Podcast podcast : Admin.getPodcasts()) {
-                    if (podcast.getOwner().equals(name)) {
-                        for (Episode episode : podcast.getEpisodes()) {
-                            if (player.getCurrentAudioFile().getName().equals(episode.getName())) {
-                                return true;
-                            }
-                        }
-                    }
-                }
-            }
-        }
-        return false;
+    private void selectPage(final String page) {
+        admin.getReferences().selected(this, selectedSearch, page);
+        selectedSearch = page;
     }
 
     /**
@@ -655,21 +589,43 @@ public class User {
      */
     public String changePage(final String nextpage) {
         if (nextpage.equals("Home")) {
-            selectedSearch = "home page";
+            selectPage("home page");
             return username + " accessed Home successfully.";
         }
         if (nextpage.equals("LikedContent")) {
-            selectedSearch = "liked content page";
+            selectPage("liked content page");
             return username + " accessed LikedContent successfully.";
         }
         return username + " is trying to access a non-existent page.";
     }
     /**
-     * Simulate time.
+     * Brings the player up to the given timestamp. Time does not pass for offline users.
+     *
+     * @param timestamp the timestamp
+     */
+    public void syncTime(final int timestamp) {
+        if (connectionStatus && timestamp > lastTimestamp) {
+            player.simulatePlayer(timestamp - lastTimestamp);
+            playerChanged();
+        }
+        lastTimestamp = timestamp;
+    }
+
+    /**
+     * Is playing boolean.
+     *
+     * @return whether the player is running
+     */
+    public boolean isPlaying() {
+        return player.getCurrentAudioFile() != null && !player.getPaused();
+    }
+
+    /**
+     * Gets the timestamp at which the current track ends if the player keeps running.
      *
-     * @param time the time
+     * @return the next boundary
      */
-    public void simulateTime(final int time) {
-        player.simulatePlayer(time);
+    public int getNextBoundary() {
+        return lastTimestamp + player.getRemainedDuration();
     }
 }
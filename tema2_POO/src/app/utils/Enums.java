@@ -25,4 +25,8 @@ public class Enums { // diferite enumuri, le-am gurpat pe toate intr-un loc
     public enum PlayerSourceType {
         LIBRARY, PLAYLIST, PODCAST
     }
+
+    public enum CommandScope { // what a command may change, besides its own user's player
+        GLOBAL, USER, READ_ONLY
+    }
 }
@@ -0,0 +1,19 @@
+package fileio.output;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * A command result that writes itself to the output field by field, without building a JSON
+ * tree first.
+ */
+public interface CommandOutput {
+    /**
+     * Writes the result as one JSON object.
+     *
+     * @param generator the generator
+     * @throws IOException in case of exceptions to writing
+     */
+    void writeTo(JsonGenerator generator) throws IOException;
+}
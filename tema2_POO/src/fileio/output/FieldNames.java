@@ -0,0 +1,41 @@
+package fileio.output;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+
+/**
+ * The field names of the command results, encoded once.
+ */
+final class FieldNames {
+    static final SerializableString COMMAND = new SerializedString("command");
+    static final SerializableString USER = new SerializedString("user");
+    static final SerializableString TIMESTAMP = new SerializedString("timestamp");
+    static final SerializableString MESSAGE = new SerializedString("message");
+    static final SerializableString RESULT = new SerializedString("result");
+
+    /**
+     * for coding style
+     */
+    private FieldNames() {
+    }
+
+    /**
+     * Writes a timestamp field, as null when there is none.
+     *
+     * @param generator the generator
+     * @param timestamp the timestamp
+     * @throws IOException in case of exceptions to writing
+     */
+    static void writeTimestamp(final JsonGenerator generator, final Integer timestamp)
+            throws IOException {
+        generator.writeFieldName(TIMESTAMP);
+        if (timestamp == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(timestamp);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package fileio.output;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import fileio.input.CommandInput;
+
+import java.io.IOException;
+
+/**
+ * The result of a command that answers with a message: the command, the user, the timestamp
+ * and the message, in this order.
+ */
+public final class MessageOutput implements CommandOutput {
+    private final String command;
+    private final String user;
+    private final Integer timestamp;
+    private final String message;
+
+    /**
+     * Instantiates a new Message output.
+     *
+     * @param commandInput the command the message answers
+     * @param message      the message
+     */
+    public MessageOutput(final CommandInput commandInput, final String message) {
+        this.command = commandInput.getCommand();
+        this.user = commandInput.getUsername();
+        this.timestamp = commandInput.getTimestamp();
+        this.message = message;
+    }
+
+    @Override
+    public void writeTo(final JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(FieldNames.COMMAND);
+        generator.writeString(command);
+        generator.writeFieldName(FieldNames.USER);
+        generator.writeString(user);
+        FieldNames.writeTimestamp(generator, timestamp);
+        generator.writeFieldName(FieldNames.MESSAGE);
+        generator.writeString(message);
+        generator.writeEndObject();
+    }
+}
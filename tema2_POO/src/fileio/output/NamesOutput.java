@@ -0,0 +1,70 @@
+package fileio.output;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import fileio.input.CommandInput;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The result of a command that answers with a list of names: the command, the user if the
+ * command is about one, the timestamp and the names.
+ */
+public final class NamesOutput implements CommandOutput {
+    private final String command;
+    private final String user;
+    private final boolean hasUser;
+    private final Integer timestamp;
+    private final List<String> names;
+
+    private NamesOutput(final CommandInput commandInput, final boolean hasUser,
+                        final List<String> names) {
+        this.command = commandInput.getCommand();
+        this.user = commandInput.getUsername();
+        this.hasUser = hasUser;
+        this.timestamp = commandInput.getTimestamp();
+        this.names = names;
+    }
+
+    /**
+     * Creates the result of a command about the whole platform.
+     *
+     * @param commandInput the command the names answer
+     * @param names        the names
+     * @return the output
+     */
+    public static NamesOutput of(final CommandInput commandInput, final List<String> names) {
+        return new NamesOutput(commandInput, false, names);
+    }
+
+    /**
+     * Creates the result of a command about one user.
+     *
+     * @param commandInput the command the names answer
+     * @param names        the names
+     * @return the output
+     */
+    public static NamesOutput ofUser(final CommandInput commandInput,
+                                     final List<String> names) {
+        return new NamesOutput(commandInput, true, names);
+    }
+
+    @Override
+    public void writeTo(final JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(FieldNames.COMMAND);
+        generator.writeString(command);
+        if (hasUser) {
+            generator.writeFieldName(FieldNames.USER);
+            generator.writeString(user);
+        }
+        FieldNames.writeTimestamp(generator, timestamp);
+        generator.writeFieldName(FieldNames.RESULT);
+        generator.writeStartArray();
+        for (String name : names) {
+            generator.writeString(name);
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+}
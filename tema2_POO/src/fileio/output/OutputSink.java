@@ -0,0 +1,90 @@
+package fileio.output;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Writes the command results to the output file as they are produced, as the elements of one
+ * JSON array. The pretty mode gives the same bytes as writing the whole array with
+ * ObjectMapper.writerWithDefaultPrettyPrinter. The array is only ended by finish; a sink closed
+ * without it, because a command failed, leaves the file empty, as when the whole array was
+ * written at the end.
+ */
+public final class OutputSink implements Closeable {
+    private final Path path;
+    private final JsonGenerator generator;
+    private boolean finished;
+
+    /**
+     * Instantiates a new Output sink.
+     *
+     * @param objectMapper the object mapper
+     * @param filePath     the output file
+     * @param pretty       whether to pretty print the output
+     * @throws IOException in case of exceptions to writing
+     */
+    public OutputSink(final ObjectMapper objectMapper, final String filePath,
+                      final boolean pretty) throws IOException {
+        path = Paths.get(filePath);
+        generator = objectMapper.getFactory()
+                .createGenerator(Files.newOutputStream(path), JsonEncoding.UTF8);
+        if (pretty) {
+            generator.useDefaultPrettyPrinter();
+        }
+        generator.writeStartArray();
+    }
+
+    /**
+     * Writes one result.
+     *
+     * @param result the result
+     * @throws IOException in case of exceptions to writing
+     */
+    public void write(final JsonNode result) throws IOException {
+        generator.writeTree(result);
+    }
+
+    /**
+     * Writes one result straight to the file, giving the same bytes as its JSON tree would.
+     *
+     * @param result the result
+     * @throws IOException in case of exceptions to writing
+     */
+    public void write(final CommandOutput result) throws IOException {
+        result.writeTo(generator);
+    }
+
+    /**
+     * Ends the array, once every result was written.
+     *
+     * @throws IOException in case of exceptions to writing
+     */
+    public void finish() throws IOException {
+        generator.writeEndArray();
+        finished = true;
+    }
+
+    /**
+     * Closes the file, emptying it if the array was not finished.
+     *
+     * @throws IOException in case of exceptions to writing
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            generator.close();
+        } finally {
+            if (!finished) {
+                Files.write(path, new byte[0]);
+            }
+        }
+    }
+}
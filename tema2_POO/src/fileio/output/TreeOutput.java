@@ -0,0 +1,27 @@
+package fileio.output;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+
+/**
+ * A command result already built as a JSON tree.
+ */
+public final class TreeOutput implements CommandOutput {
+    private final JsonNode tree;
+
+    /**
+     * Instantiates a new Tree output.
+     *
+     * @param tree the tree
+     */
+    public TreeOutput(final JsonNode tree) {
+        this.tree = tree;
+    }
+
+    @Override
+    public void writeTo(final JsonGenerator generator) throws IOException {
+        generator.writeTree(tree);
+    }
+}
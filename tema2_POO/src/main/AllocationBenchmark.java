@@ -0,0 +1,86 @@
+package main;
+
+import app.AdminContext;
+import app.audio.Files.Song;
+import app.user.User;
+import com.sun.management.ThreadMXBean;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the bytes allocated per command by the old catalogue getters, which copied the
+ * whole list on every call, with the read-only views AdminContext returns now. Each command
+ * walks the songs once per user, like the interaction checks done before deleting a user.
+ */
+public final class AllocationBenchmark {
+    private static final int[] SIZES = {1_000, 10_000, 100_000};
+    private static final int USERS = 50;
+    private static final int COMMANDS = 200;
+    private static final int RELEASE_YEAR = 2000;
+
+    /**
+     * for coding style
+     */
+    private AllocationBenchmark() {
+    }
+
+    /**
+     * @param args unused
+     */
+    public static void main(final String[] args) {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int size : SIZES) {
+            AdminContext admin = new AdminContext();
+            for (int i = 0; i < USERS; i++) {
+                admin.addUser(new User(admin, "user" + i, 0, ""));
+            }
+            for (int i = 0; i < size; i++) {
+                admin.addSong(new Song("song" + i, 1, "album", new ArrayList<>(), "", "pop",
+                                       RELEASE_YEAR, "user" + i % USERS));
+            }
+
+            long found = 0;
+            long start = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < COMMANDS; i++) {
+                found += copying(admin);
+            }
+            long copyBytes = threads.getCurrentThreadAllocatedBytes() - start;
+
+            start = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < COMMANDS; i++) {
+                found += viewing(admin);
+            }
+            long viewBytes = threads.getCurrentThreadAllocatedBytes() - start;
+
+            System.out.printf("%,9d songs: copies %,14d bytes/command, views %,8d bytes/command"
+                    + " (%d matches)%n", size, copyBytes / COMMANDS, viewBytes / COMMANDS, found);
+        }
+    }
+
+    private static int copying(final AdminContext admin) {
+        int found = 0;
+        for (User user : new ArrayList<>(admin.getAllUsers())) {
+            for (Song song : new ArrayList<>(admin.getSongs())) {
+                if (song.getArtist().equals(user.getUsername())) {
+                    found++;
+                }
+            }
+        }
+        return found;
+    }
+
+    private static int viewing(final AdminContext admin) {
+        int found = 0;
+        List<User> users = admin.getAllUsers();
+        for (User user : users) {
+            for (Song song : admin.getSongs()) {
+                if (song.getArtist().equals(user.getUsername())) {
+                    found++;
+                }
+            }
+        }
+        return found;
+    }
+}
@@ -1,26 +1,44 @@
 package main;
 
 import app.Admin;
-import app.CommandRunner;
+import app.AdminContext;
+import app.CommandExecutor;
+import app.CommandRegistry;
+import app.LibrarySnapshot;
 import checker.Checker;
 import checker.CheckerConstants;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.ObjectWriter;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import fileio.input.CommandInput;
-import fileio.input.LibraryInput;
+import fileio.output.OutputSink;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
  * The entry point to this homework. It runs the checker that tests your implentation.
  */
 public final class Main {
+    private static final CommandRegistry COMMANDS = CommandRegistry.standard();
+    private static LibrarySnapshot library;
+
+    static {
+        // -Dcommands.metrics=true prints how often and how long each command ran
+        if (Boolean.getBoolean("commands.metrics")) {
+            Runtime.getRuntime().addShutdownHook(
+                    new Thread(() -> COMMANDS.printMetrics(System.err)));
+        }
+    }
+
     /**
      * for coding style
      */
@@ -69,74 +87,78 @@ public final class Main {
      */
     public static void action(final String filePath1,
                               final String filePath2) throws IOException {
+        action(filePath1, filePath2, true);
+    }
+
+    /**
+     * @param filePath1 for input file
+     * @param filePath2 for output file
+     * @param pretty    whether the output is pretty printed or compact
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    public static void action(final String filePath1,
+                              final String filePath2,
+                              final boolean pretty) throws IOException {
         ObjectMapper objectMapper = new ObjectMapper();
-        LibraryInput library = objectMapper.readValue(new File(CheckerConstants.TESTS_PATH
-                                                               + "library/library.json"),
-                                                               LibraryInput.class);
-        CommandInput[] commands = objectMapper.readValue(new File(CheckerConstants.TESTS_PATH
-                                                                  + filePath1),
-                                                                  CommandInput[].class);
-        ArrayNode outputs = objectMapper.createArrayNode();
-
-        Admin.setUsers(library.getUsers());
-        Admin.setSongs(library.getSongs());
-        Admin.setPodcasts(library.getPodcasts());
-
-        for (CommandInput command : commands) {
-            Admin.updateTimestamp(command.getTimestamp());
-
-            String commandName = command.getCommand();
-            switch (commandName) {
-                case "search" -> outputs.add(CommandRunner.search(command));
-                case "select" -> outputs.add(CommandRunner.select(command));
-                case "load" -> outputs.add(CommandRunner.load(command));
-                case "playPause" -> outputs.add(CommandRunner.playPause(command));
-                case "repeat" -> outputs.add(CommandRunner.repeat(command));
-                case "shuffle" -> outputs.add(CommandRunner.shuffle(command));
-                case "forward" -> outputs.add(CommandRunner.forward(command));
-                case "backward" -> outputs.add(CommandRunner.backward(command));
-                case "like" -> outputs.add(CommandRunner.like(command));
-                case "next" -> outputs.add(CommandRunner.next(command));
-                case "prev" -> outputs.add(CommandRunner.prev(command));
-                case "createPlaylist" -> outputs.add(CommandRunner.createPlaylist(command));
-                case "addRemoveInPlaylist"
-                        -> outputs.add(CommandRunner.addRemoveInPlaylist(command));
-                case "switchVisibility" -> outputs.add(CommandRunner.switchVisibility(command));
-                case "showPlaylists" -> outputs.add(CommandRunner.showPlaylists(command));
-                case "follow" -> outputs.add(CommandRunner.follow(command));
-                case "status" -> outputs.add(CommandRunner.status(command));
-                case "showPreferredSongs" -> outputs.add(CommandRunner.showLikedSongs(command));
-                case "getPreferredGenre" -> outputs.add(CommandRunner.getPreferredGenre(command));
-                case "getTop5Songs" -> outputs.add(CommandRunner.getTop5Songs(command));
-                case "getTop5Playlists" -> outputs.add(CommandRunner.getTop5Playlists(command));
-                case "switchConnectionStatus"
-                        -> outputs.add(CommandRunner.switchConnectionStatus(command));
-                case "getOnlineUsers" -> outputs.add(CommandRunner.getOnlineUsers(command));
-                case "addUser" -> outputs.add(CommandRunner.addUser(command));
-                case "addAlbum" -> outputs.add(CommandRunner.addAlbum(command));
-                case "showAlbums" -> outputs.add(CommandRunner.showAlbums(command));
-                case "printCurrentPage" -> outputs.add(CommandRunner.printCurrentPage(command));
-                case "addEvent" -> outputs.add(CommandRunner.addEvent(command));
-                case "addMerch" -> outputs.add(CommandRunner.addMerch(command));
-                case "getAllUsers" -> outputs.add(CommandRunner.getAllUsers(command));
-                case "deleteUser" -> outputs.add(CommandRunner.deleteUser(command));
-                case "addPodcast" -> outputs.add(CommandRunner.addPodcast(command));
-                case "addAnnouncement" -> outputs.add(CommandRunner.addAnnouncement(command));
-                case "removeAnnouncement" -> outputs.add(CommandRunner.removeAnnouncement(command));
-                case "showPodcasts" -> outputs.add(CommandRunner.showPodcasts(command));
-                case "removeAlbum" -> outputs.add(CommandRunner.removeAlbum(command));
-                case "changePage" -> outputs.add(CommandRunner.changePage(command));
-                case "removePodcast" -> outputs.add(CommandRunner.removePodcast(command));
-                case "removeEvent" -> outputs.add(CommandRunner.removeEvent(command));
-                case "getTop5Albums" -> outputs.add(CommandRunner.getTop5Albums(command));
-                case "getTop5Artists" -> outputs.add(CommandRunner.getTop5Artists(command));
-                default -> System.out.println("Invalid command " + commandName);
+        AdminContext admin = new AdminContext();
+        admin.setLibrary(getLibrary(objectMapper));
+        // code still going through the static Admin sees this run's state
+        Admin.setContext(admin);
+
+        // commands are read one at a time and run as soon as the next timestamp shows up, so
+        // only the commands sharing a timestamp are held in memory
+        try (JsonParser parser = objectMapper.getFactory()
+                .createParser(new File(CheckerConstants.TESTS_PATH + filePath1));
+             OutputSink outputs = new OutputSink(objectMapper, filePath2, pretty);
+             CommandExecutor executor = new CommandExecutor(admin, COMMANDS, outputs)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected an array of commands in " + filePath1);
+            }
+
+            List<CommandInput> group = new ArrayList<>();
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                CommandInput command = objectMapper.readValue(parser, CommandInput.class);
+                if (!group.isEmpty() && !Objects.equals(group.get(0).getTimestamp(),
+                                                        command.getTimestamp())) {
+                    executor.execute(group);
+                    group = new ArrayList<>();
+                }
+                group.add(command);
             }
+            executor.execute(group);
+            outputs.finish();
+        } finally {
+            Admin.setContext(null);
         }
+    }
 
-        ObjectWriter objectWriter = objectMapper.writerWithDefaultPrettyPrinter();
-        objectWriter.writeValue(new File(filePath2), outputs);
+    /**
+     * Runs several input files in parallel on the common fork-join pool. Each file gets its
+     * own AdminContext, so the files do not see each other's state.
+     *
+     * @param files input files mapped to their output files
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    public static void actionParallel(final Map<String, String> files) throws IOException {
+        try {
+            files.entrySet().parallelStream().forEach(file -> {
+                try {
+                    action(file.getKey(), file.getValue());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
 
-        Admin.reset();
+    private static synchronized LibrarySnapshot getLibrary(final ObjectMapper objectMapper)
+            throws IOException {
+        if (library == null) {
+            library = LibrarySnapshot.read(objectMapper, new File(CheckerConstants.TESTS_PATH
+                                                                  + "library/library.json"));
+        }
+        return library;
     }
 }
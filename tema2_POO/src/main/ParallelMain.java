@@ -0,0 +1,60 @@
+package main;
+
+import checker.Checker;
+import checker.CheckerConstants;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Same as Main, but runs the input files in parallel through Main.actionParallel.
+ */
+public final class ParallelMain {
+    /**
+     * for coding style
+     */
+    private ParallelMain() {
+    }
+
+    /**
+     * Call the checker
+     * @param args from command line
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    public static void main(final String[] args) throws IOException {
+        File directory = new File(CheckerConstants.TESTS_PATH);
+        Path path = Paths.get(CheckerConstants.RESULT_PATH);
+
+        if (Files.exists(path)) {
+            File resultFile = new File(String.valueOf(path));
+            for (File file : Objects.requireNonNull(resultFile.listFiles())) {
+                file.delete();
+            }
+            resultFile.delete();
+        }
+        Files.createDirectories(path);
+
+        Map<String, String> files = new LinkedHashMap<>();
+        for (File file : Objects.requireNonNull(directory.listFiles())) {
+            if (file.getName().startsWith("library")) {
+                continue;
+            }
+
+            String filepath = CheckerConstants.OUT_PATH + file.getName();
+            File out = new File(filepath);
+            boolean isCreated = out.createNewFile();
+            if (isCreated) {
+                files.put(file.getName(), filepath);
+            }
+        }
+        Main.actionParallel(files);
+
+        Checker.calculateScore();
+    }
+}
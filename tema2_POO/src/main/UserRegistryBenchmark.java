@@ -0,0 +1,73 @@
+package main;
+
+import app.Admin;
+import app.user.User;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the old linear scan over all users with the username index used by Admin.getUser.
+ */
+public final class UserRegistryBenchmark {
+    private static final int[] SIZES = {10_000, 100_000, 1_000_000};
+    private static final int LOOKUPS = 1_000;
+    private static final int SEED = 42;
+    private static final double NANOS_PER_MICRO = 1000.0;
+
+    /**
+     * for coding style
+     */
+    private UserRegistryBenchmark() {
+    }
+
+    /**
+     * @param args unused
+     */
+    public static void main(final String[] args) {
+        for (int size : SIZES) {
+            Admin.reset();
+            for (int i = 0; i < size; i++) {
+                Admin.addUser(new User("user" + i, 0, ""));
+            }
+
+            Random random = new Random(SEED);
+            String[] queries = new String[LOOKUPS];
+            for (int i = 0; i < LOOKUPS; i++) {
+                queries[i] = "user" + random.nextInt(size);
+            }
+
+            List<User> users = Admin.getAllUsers();
+            long start = System.nanoTime();
+            int found = 0;
+            for (String query : queries) {
+                if (scan(users, query) != null) {
+                    found++;
+                }
+            }
+            long scanTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (String query : queries) {
+                if (Admin.getUser(query) != null) {
+                    found++;
+                }
+            }
+            long indexTime = System.nanoTime() - start;
+
+            System.out.printf("%,9d users: scan %10.2f us/lookup, index %6.3f us/lookup"
+                    + " (%d hits)%n", size, scanTime / NANOS_PER_MICRO / LOOKUPS,
+                    indexTime / NANOS_PER_MICRO / LOOKUPS, found);
+        }
+        Admin.reset();
+    }
+
+    private static User scan(final List<User> users, final String username) {
+        for (User user : users) {
+            if (user.getUsername().equals(username)) {
+                return user;
+            }
+        }
+        return null;
+    }
+}